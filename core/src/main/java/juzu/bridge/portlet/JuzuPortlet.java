@@ -18,6 +18,7 @@ package juzu.bridge.portlet;
 
 import juzu.Consumes;
 import juzu.PropertyType;
+import juzu.impl.asset.AssetCache;
 import juzu.impl.asset.AssetServer;
 import juzu.impl.bridge.Bridge;
 import juzu.impl.bridge.BridgeConfig;
@@ -91,7 +92,7 @@ public class JuzuPortlet implements Portlet, ResourceServingPortlet, EventPortle
     //
     AssetServer server = (AssetServer)config.getPortletContext().getAttribute("asset.server");
     if (server == null) {
-      server = new AssetServer();
+      server = new AssetServer(AssetCache.parseSize(config.getPortletContext().getInitParameter(AssetServer.CACHE_SIZE)));
       config.getPortletContext().setAttribute("asset.server", server);
     }
 
@@ -165,6 +166,10 @@ public class JuzuPortlet implements Portlet, ResourceServingPortlet, EventPortle
         return classLoader;
       }
       public String getInitParameter(String name) {
+        if (BridgeConfig.BACKGROUND_COMPILATION.equals(name)) {
+          // The portlet requests don't lease the application, so a generation could be closed while it is in use
+          return null;
+        }
         return context.getInitParameter(name);
       }
       public ResourceResolver getResolver() {
@@ -0,0 +1,358 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.asset;
+
+import juzu.impl.common.Tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * <p>The cache of the asset contents served by the {@link AssetServer}, keyed by the asset path.</p>
+ *
+ * <p>An asset is loaded when its application is registered: the asset content is kept in memory with its gzip and
+ * deflate variants when they are smaller. The total number of bytes kept in memory is bounded by the cache size,
+ * the assets that do not fit are not cached and are served from their resource. An asset file larger than the
+ * mapping threshold is memory mapped instead of being loaded, it is not compressed and not accounted in the
+ * cache size.</p>
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+public class AssetCache {
+
+  /** The default cache size: 16MB. */
+  public static final long DEFAULT_SIZE = 16 * 1024 * 1024;
+
+  /** The default mapping threshold: 1MB. */
+  public static final int DEFAULT_MAPPING_THRESHOLD = 1024 * 1024;
+
+  /**
+   * Parse a cache size value, the value is a number of bytes optionally followed by a <code>k</code>, a
+   * <code>m</code> or a <code>g</code> unit.
+   *
+   * @param value the value to parse
+   * @return the cache size or the {@link #DEFAULT_SIZE} when the value is null
+   * @throws IllegalArgumentException if the value is not valid
+   */
+  public static long parseSize(String value) throws IllegalArgumentException {
+    if (value == null) {
+      return DEFAULT_SIZE;
+    }
+    value = value.trim().toLowerCase();
+    long unit = 1;
+    if (value.endsWith("k")) {
+      unit = 1024;
+    } else if (value.endsWith("m")) {
+      unit = 1024 * 1024;
+    } else if (value.endsWith("g")) {
+      unit = 1024 * 1024 * 1024;
+    }
+    if (unit > 1) {
+      value = value.substring(0, value.length() - 1).trim();
+    }
+    try {
+      long size = Long.parseLong(value) * unit;
+      if (size < 0) {
+        throw new IllegalArgumentException("Asset cache size " + value + " must not be negative");
+      }
+      return size;
+    }
+    catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid asset cache size " + value, e);
+    }
+  }
+
+  /** . */
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+  /** . */
+  private final long maxSize;
+
+  /** . */
+  private final int mappingThreshold;
+
+  /** . */
+  private final AtomicLong size = new AtomicLong();
+
+  public AssetCache() {
+    this(DEFAULT_SIZE, DEFAULT_MAPPING_THRESHOLD);
+  }
+
+  public AssetCache(long maxSize, int mappingThreshold) {
+    this.maxSize = maxSize;
+    this.mappingThreshold = mappingThreshold;
+  }
+
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Returns the number of bytes kept in memory by the cache.
+   *
+   * @return the cache size
+   */
+  public long getSize() {
+    return size.get();
+  }
+
+  /**
+   * Returns the cached entry of an asset.
+   *
+   * @param path the asset path
+   * @return the entry or null if the asset is not cached
+   */
+  public Entry get(String path) {
+    return entries.get(path);
+  }
+
+  /**
+   * Load the resources of an asset manager in the cache. An entry of another owner is replaced, so when an
+   * application replaces another one the cache serves the assets of the last registered application.
+   *
+   * @param owner the owner of the entries
+   * @param manager the asset manager
+   */
+  public void load(Object owner, AssetManager manager) {
+    for (String path : manager.getResourcePaths()) {
+      URL url = manager.resolveAsset(path);
+      AssetFingerprint fingerprint = manager.resolveFingerprint(path);
+      Entry existing = entries.get(path);
+      if (url != null && fingerprint != null && (existing == null || existing.owner != owner)) {
+        try {
+          Entry entry = load(owner, url, fingerprint);
+          if (entry != null) {
+            Entry previous = entries.put(path, entry);
+            if (previous != null) {
+              size.addAndGet(-previous.size);
+            }
+          }
+          else if (existing != null && entries.remove(path, existing)) {
+            // The previous content must not be served in place of the new one
+            size.addAndGet(-existing.size);
+          }
+        }
+        catch (IOException e) {
+          // The asset will be served from its resource
+        }
+      }
+    }
+  }
+
+  /**
+   * Remove the entries of an owner.
+   *
+   * @param owner the owner
+   */
+  public void unload(Object owner) {
+    for (Map.Entry<String, Entry> mapping : entries.entrySet()) {
+      Entry entry = mapping.getValue();
+      if (entry.owner == owner && entries.remove(mapping.getKey(), entry)) {
+        size.addAndGet(-entry.size);
+      }
+    }
+  }
+
+  private Entry load(Object owner, URL url, AssetFingerprint fingerprint) throws IOException {
+    File file = null;
+    if ("file".equals(url.getProtocol())) {
+      try {
+        file = new File(url.toURI());
+      }
+      catch (URISyntaxException ignore) {
+      }
+    }
+
+    // Map the large files
+    if (file != null && file.length() > mappingThreshold) {
+      FileInputStream in = new FileInputStream(file);
+      try {
+        FileChannel channel = in.getChannel();
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        return new Entry(owner, fingerprint, buffer, null, null, 0);
+      }
+      finally {
+        Tools.safeClose(in);
+      }
+    }
+
+    //
+    byte[] bytes = Tools.bytes(url.openStream());
+    if (!reserve(bytes.length)) {
+      return null;
+    }
+    byte[] gzip = compress(bytes, new ByteArrayOutputStream(), true);
+    if (gzip != null && !reserve(gzip.length)) {
+      gzip = null;
+    }
+    byte[] deflate = compress(bytes, new ByteArrayOutputStream(), false);
+    if (deflate != null && !reserve(deflate.length)) {
+      deflate = null;
+    }
+    long size = bytes.length + (gzip != null ? gzip.length : 0) + (deflate != null ? deflate.length : 0);
+    return new Entry(owner, fingerprint, ByteBuffer.wrap(bytes), gzip, deflate, size);
+  }
+
+  private boolean reserve(long length) {
+    while (true) {
+      long current = size.get();
+      long next = current + length;
+      if (next > maxSize) {
+        return false;
+      } else if (size.compareAndSet(current, next)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Compress the bytes and returns the result only when it is smaller.
+   */
+  private static byte[] compress(byte[] bytes, ByteArrayOutputStream buffer, boolean gzip) throws IOException {
+    DeflaterOutputStream out = gzip ? new GZIPOutputStream(buffer) : new DeflaterOutputStream(buffer);
+    out.write(bytes);
+    out.close();
+    return buffer.size() < bytes.length ? buffer.toByteArray() : null;
+  }
+
+  /**
+   * A cached asset.
+   */
+  public static class Entry {
+
+    /** . */
+    private final Object owner;
+
+    /** . */
+    private final AssetFingerprint fingerprint;
+
+    /** . */
+    private final ByteBuffer identity;
+
+    /** . */
+    private final byte[] gzip;
+
+    /** . */
+    private final byte[] deflate;
+
+    /** The number of bytes retained in memory. */
+    private final long size;
+
+    private Entry(Object owner, AssetFingerprint fingerprint, ByteBuffer identity, byte[] gzip, byte[] deflate, long size) {
+      this.owner = owner;
+      this.fingerprint = fingerprint;
+      this.identity = identity;
+      this.gzip = gzip;
+      this.deflate = deflate;
+      this.size = size;
+    }
+
+    public AssetFingerprint getFingerprint() {
+      return fingerprint;
+    }
+
+    /**
+     * Returns true when the entry has compressed variants.
+     *
+     * @return true when the entry is compressed
+     */
+    public boolean isCompressed() {
+      return gzip != null || deflate != null;
+    }
+
+    /**
+     * Select the content encoding for an <code>Accept-Encoding</code> header value, gzip is preferred over deflate.
+     *
+     * @param acceptEncoding the header value, it may be null
+     * @return the selected encoding or null for the identity encoding
+     */
+    public String selectEncoding(String acceptEncoding) {
+      if (acceptEncoding != null) {
+        if (gzip != null && accepts(acceptEncoding, "gzip")) {
+          return "gzip";
+        } else if (deflate != null && accepts(acceptEncoding, "deflate")) {
+          return "deflate";
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Returns the content length of an encoding.
+     *
+     * @param encoding the encoding returned by {@link #selectEncoding(String)}
+     * @return the content length
+     */
+    public int getLength(String encoding) {
+      if ("gzip".equals(encoding)) {
+        return gzip.length;
+      } else if ("deflate".equals(encoding)) {
+        return deflate.length;
+      } else {
+        return identity.capacity();
+      }
+    }
+
+    /**
+     * Write the content of an encoding.
+     *
+     * @param encoding the encoding returned by {@link #selectEncoding(String)}
+     * @param out the output stream
+     * @throws IOException any io exception
+     */
+    public void write(String encoding, OutputStream out) throws IOException {
+      if ("gzip".equals(encoding)) {
+        out.write(gzip);
+      } else if ("deflate".equals(encoding)) {
+        out.write(deflate);
+      } else if (identity.hasArray()) {
+        out.write(identity.array(), identity.arrayOffset(), identity.capacity());
+      } else {
+        Channels.newChannel(out).write(identity.duplicate());
+      }
+    }
+
+    private static boolean accepts(String acceptEncoding, String encoding) {
+      for (String s : Tools.split(acceptEncoding, ',')) {
+        String coding = s.trim();
+        String params = null;
+        int pos = coding.indexOf(';');
+        if (pos != -1) {
+          params = coding.substring(pos + 1).trim();
+          coding = coding.substring(0, pos).trim();
+        }
+        if (coding.equalsIgnoreCase(encoding)) {
+          return params == null || !params.replace(" ", "").matches("q=0(\\.0*)?");
+        }
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.asset;
+
+import juzu.impl.common.Tools;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * The fingerprint of an asset content: the hash of the content and its last modification date, it is used for
+ * validating the asset cached by a client and for versioning the asset URL.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+public class AssetFingerprint {
+
+  /** . */
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  /**
+   * Compute the fingerprint of the content of an URL.
+   *
+   * @param url the url
+   * @return the fingerprint
+   * @throws IOException any io exception
+   */
+  public static AssetFingerprint create(URL url) throws IOException {
+    URLConnection conn = url.openConnection();
+    long lastModified = conn.getLastModified();
+    byte[] bytes = Tools.bytes(conn.getInputStream());
+    return new AssetFingerprint(hash(bytes), lastModified);
+  }
+
+  static String hash(byte[] bytes) {
+    try {
+      byte[] md5 = MessageDigest.getInstance("MD5").digest(bytes);
+      char[] hash = new char[md5.length * 2];
+      for (int i = 0;i < md5.length;i++) {
+        int b = Tools.unsignedByteToInt(md5[i]);
+        hash[i * 2] = HEX[b >> 4];
+        hash[i * 2 + 1] = HEX[b & 0xF];
+      }
+      return new String(hash);
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  /** . */
+  private final String hash;
+
+  /** . */
+  private final String etag;
+
+  /** . */
+  private final long lastModified;
+
+  public AssetFingerprint(String hash, long lastModified) {
+    this.hash = hash;
+    this.etag = '"' + hash + '"';
+    this.lastModified = lastModified;
+  }
+
+  /**
+   * Returns the hexadecimal hash of the asset content.
+   *
+   * @return the hash
+   */
+  public String getHash() {
+    return hash;
+  }
+
+  /**
+   * Returns the entity tag of the asset content.
+   *
+   * @return the etag
+   */
+  public String getETag() {
+    return etag;
+  }
+
+  /**
+   * Returns the last modification date of the asset content or <code>0</code> when it is not known.
+   *
+   * @return the last modification date
+   */
+  public long getLastModified() {
+    return lastModified;
+  }
+
+  /**
+   * Returns true when the entity tags of an <code>If-None-Match</code> header match this fingerprint.
+   *
+   * @param ifNoneMatch the header value
+   * @return true when the header matches
+   */
+  public boolean matches(String ifNoneMatch) {
+    for (String tag : Tools.split(ifNoneMatch, ',')) {
+      tag = tag.trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals("*") || tag.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns true when the content has not been modified since the date of an <code>If-Modified-Since</code>
+   * header, the comparison is done with a second precision as it is the precision of the http dates.
+   *
+   * @param ifModifiedSince the header date
+   * @return true when the content was not modified
+   */
+  public boolean isNotModifiedSince(long ifModifiedSince) {
+    return lastModified > 0 && ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+  }
+
+  @Override
+  public String toString() {
+    return "AssetFingerprint[hash=" + hash + ",lastModified=" + lastModified + "]";
+  }
+}
@@ -18,13 +18,17 @@ package juzu.impl.asset;
 
 import juzu.impl.common.Tools;
 
+import java.io.IOException;
 import java.net.URL;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class AssetManager {
@@ -35,6 +39,9 @@ public class AssetManager {
   /** . */
   protected final HashMap<String, URL> resources = new HashMap<String, URL>();
 
+  /** The fingerprints of the resources computed on demand. */
+  protected final ConcurrentHashMap<String, AssetFingerprint> fingerprints = new ConcurrentHashMap<String, AssetFingerprint>();
+
   /**
    * <p>Attempt to add an asset to the manager, the manager will return the asset id
    * if the asset was registered or null if it was not.</p>
@@ -99,6 +106,42 @@ public class AssetManager {
     return resources.get(path);
   }
 
+  /**
+   * Returns the paths of the asset resources.
+   *
+   * @return the resource paths
+   */
+  public Set<String> getResourcePaths() {
+    return Collections.unmodifiableSet(resources.keySet());
+  }
+
+  /**
+   * Returns the fingerprint of an asset resource or null if the resource is not managed or cannot be read. The
+   * fingerprint is computed once and then retained for the life time of this manager.
+   *
+   * @param path the path
+   * @return the fingerprint
+   */
+  public AssetFingerprint resolveFingerprint(String path) {
+    AssetFingerprint fingerprint = fingerprints.get(path);
+    if (fingerprint == null) {
+      URL url = resources.get(path);
+      if (url != null) {
+        try {
+          fingerprint = AssetFingerprint.create(url);
+          AssetFingerprint existing = fingerprints.putIfAbsent(path, fingerprint);
+          if (existing != null) {
+            fingerprint = existing;
+          }
+        }
+        catch (IOException e) {
+          // The resource cannot be fingerprinted
+        }
+      }
+    }
+    return fingerprint;
+  }
+
   /**
    * Perform a topological sort of the provided asset script values.
    *
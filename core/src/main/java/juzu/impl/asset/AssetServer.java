@@ -22,32 +22,90 @@ import juzu.impl.resource.ResourceResolver;
 
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
-import java.util.HashSet;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class AssetServer {
 
+  /** The name of the request parameter versioning an asset url with the asset fingerprint. */
+  public static final String VERSION_PARAMETER = "v";
+
+  /** The cache control of a versioned asset: one year, as the content of its url never changes. */
+  private static final String VERSIONED_CACHE_CONTROL = "public, max-age=31536000";
+
+  /** The name of the init parameter configuring the size of the asset cache. */
+  public static final String CACHE_SIZE = "juzu.asset_cache_size";
+
+  /** . */
+  final CopyOnWriteArraySet<Application> runtimes = new CopyOnWriteArraySet<Application>();
+
   /** . */
-  HashSet<Application> runtimes = new HashSet<Application>();
+  final AssetCache cache;
 
   public AssetServer() {
+    this(AssetCache.DEFAULT_SIZE);
+  }
+
+  public AssetServer(long cacheSize) {
+    this.cache = new AssetCache(cacheSize, AssetCache.DEFAULT_MAPPING_THRESHOLD);
   }
 
   public void register(Application assetManager) {
     runtimes.add(assetManager);
+    AssetManager manager = assetManager.resolveBean(AssetManager.class);
+    if (manager != null) {
+      cache.load(assetManager, manager);
+    }
   }
 
   public void unregister(Application assetManager) {
     runtimes.remove(assetManager);
+    cache.unload(assetManager);
   }
 
-  public boolean doGet(String path, ServletContext ctx, HttpServletResponse resp) throws ServletException, IOException {
+  public boolean doGet(String path, ServletContext ctx, HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
     if (path != null && path.length() > 0) {
+
+      // Serve the cached asset
+      AssetCache.Entry entry = cache.get(path);
+      if (entry != null) {
+        if (!validate(entry.getFingerprint(), req, resp)) {
+          String contentType = getContentType(path, ctx);
+          if (contentType != null) {
+            resp.setContentType(contentType);
+          }
+          String encoding;
+          if (entry.isCompressed()) {
+            resp.setHeader("Vary", "Accept-Encoding");
+            encoding = entry.selectEncoding(req.getHeader("Accept-Encoding"));
+            if (encoding != null) {
+              resp.setHeader("Content-Encoding", encoding);
+            }
+          } else {
+            encoding = null;
+          }
+          resp.setContentLength(entry.getLength(encoding));
+          entry.write(encoding, resp.getOutputStream());
+        }
+        return true;
+      }
+
+      //
       for (Application runtime : runtimes) {
+
+        // Validate the asset cached by the client
+        AssetManager assetManager = runtime.resolveBean(AssetManager.class);
+        AssetFingerprint fingerprint = assetManager != null ? assetManager.resolveFingerprint(path) : null;
+        if (fingerprint != null && validate(fingerprint, req, resp)) {
+          return true;
+        }
+
+        //
         Iterable<ResourceResolver> resolvers = runtime.resolveBeans(ResourceResolver.class);
         for (ResourceResolver resolver : resolvers) {
           // For now we only have resource of URL type ...
@@ -61,9 +119,7 @@ public class AssetServer {
           }
           
           if (in != null) {
-            int pos = path.lastIndexOf('/');
-            String name = pos == -1 ? path : path.substring(pos + 1);
-            String contentType = ctx.getMimeType(name);
+            String contentType = getContentType(path, ctx);
             if (contentType != null) {
               resp.setContentType(contentType);
             }
@@ -75,4 +131,48 @@ public class AssetServer {
     }
     return false;
   }
+
+  private static String getContentType(String path, ServletContext ctx) {
+    int pos = path.lastIndexOf('/');
+    String name = pos == -1 ? path : path.substring(pos + 1);
+    return ctx.getMimeType(name);
+  }
+
+  /**
+   * Set the validation headers of an asset and send a not modified status when the asset cached by the client
+   * is still valid.
+   *
+   * @return true when the not modified status was sent
+   */
+  private static boolean validate(AssetFingerprint fingerprint, HttpServletRequest req, HttpServletResponse resp) {
+    resp.setHeader("ETag", fingerprint.getETag());
+    if (fingerprint.getLastModified() > 0) {
+      resp.setDateHeader("Last-Modified", fingerprint.getLastModified());
+    }
+    if (fingerprint.getHash().equals(req.getParameter(VERSION_PARAMETER))) {
+      resp.setHeader("Cache-Control", VERSIONED_CACHE_CONTROL);
+    }
+    if (isNotModified(fingerprint, req)) {
+      resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  private static boolean isNotModified(AssetFingerprint fingerprint, HttpServletRequest req) {
+    String ifNoneMatch = req.getHeader("If-None-Match");
+    if (ifNoneMatch != null) {
+      return fingerprint.matches(ifNoneMatch);
+    } else {
+      long ifModifiedSince;
+      try {
+        ifModifiedSince = req.getDateHeader("If-Modified-Since");
+      }
+      catch (IllegalArgumentException e) {
+        ifModifiedSince = -1;
+      }
+      return fingerprint.isNotModifiedSince(ifModifiedSince);
+    }
+  }
 }
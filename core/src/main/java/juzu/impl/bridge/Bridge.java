@@ -71,4 +71,22 @@ public abstract class Bridge implements Closeable {
 
   public abstract Application getApplication();
 
+  /**
+   * Acquire the current application for the lifetime of a handler, the application must be released with
+   * the {@link #release(Application)} method.
+   *
+   * @return the acquired application
+   */
+  public Application acquire() {
+    return getApplication();
+  }
+
+  /**
+   * Release an application previously acquired.
+   *
+   * @param application the application to release
+   */
+  public void release(Application application) {
+  }
+
 }
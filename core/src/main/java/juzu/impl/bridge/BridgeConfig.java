@@ -40,6 +40,9 @@ public class BridgeConfig {
   /** . */
   public static final String SOURCE_PATH = "juzu.src_path";
 
+  /** Compile the application in background in live mode, only the servlet bridge supports it. */
+  public static final String BACKGROUND_COMPILATION = "juzu.background_compilation";
+
   /** The default request encoding charset. */
   public static final String REQUEST_ENCODING = "juzu.request_encoding";
 
@@ -28,6 +28,9 @@ import juzu.impl.inject.spi.Injector;
 import juzu.impl.resource.ResourceResolver;
 import juzu.impl.runtime.ApplicationRuntime;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Bridge an application.
  *
@@ -35,6 +38,9 @@ import juzu.impl.runtime.ApplicationRuntime;
  */
 public class ApplicationBridge extends Bridge {
 
+  /** The delay between two scans of the source path when compiling in background. */
+  private static final long BACKGROUND_DELAY = 500;
+
   /** . */
   private ModuleContextImpl module;
 
@@ -47,11 +53,33 @@ public class ApplicationBridge extends Bridge {
   /** . */
   private RunMode runMode;
 
+  /** . */
+  private Boolean background;
+
+  /** The current generation when compiling in background. */
+  private volatile Generation generation;
+
+  /** The generation returned by the last refresh. */
+  private Generation refreshed;
+
+  /** The generations that are not closed yet. */
+  private final ConcurrentHashMap<Application, Generation> generations;
+
+  /** . */
+  private volatile Thread compiler;
+
+  /** The delay between two builds of the compiler thread, the thread is not started when it is not positive. */
+  long delay = BACKGROUND_DELAY;
+
+  /** The module class loader a generation could not be built with, the build is attempted again when it changes. */
+  private ClassLoader failed;
+
   public ApplicationBridge(BridgeContext context, Logger log, BridgeConfig config, AssetServer server, ResourceResolver resolver) {
     super(context, log, config, server, resolver);
 
     //
     this.injector = null;
+    this.generations = new ConcurrentHashMap<Application, Generation>();
   }
 
   public RunMode getRunMode() {
@@ -70,6 +98,20 @@ public class ApplicationBridge extends Bridge {
     return runMode;
   }
 
+  /**
+   * Returns true when the application is compiled in background, this happens in live mode when the
+   * <code>juzu.background_compilation</code> init parameter is true. The requests must lease the application with
+   * {@link #acquire()} in this mode, it is only supported by the servlet bridge.
+   *
+   * @return true when the application is compiled in background
+   */
+  public boolean getBackground() {
+    if (background == null) {
+      background = getRunMode().isDynamic() && Boolean.parseBoolean(context.getInitParameter(BridgeConfig.BACKGROUND_COMPILATION));
+    }
+    return background;
+  }
+
   protected Injector createInjector(InjectorProvider provider) {
     return provider.get(false);
   }
@@ -92,6 +134,11 @@ public class ApplicationBridge extends Bridge {
       module.lease();
     }
 
+    //
+    if (getBackground()) {
+      return refreshGeneration();
+    }
+
     // For now refresh module first
     module.runtime.refresh(recompile);
 
@@ -111,11 +158,183 @@ public class ApplicationBridge extends Bridge {
     return application.refresh();
   }
 
+  /**
+   * Refresh in background mode: the first generation is built by the request, after that the requests
+   * only observe the generations built by the compiler thread.
+   *
+   * @return true when a new generation is available since the last refresh
+   * @throws Exception any exception that prevented to build the first generation
+   */
+  private synchronized boolean refreshGeneration() throws Exception {
+    if (generation == null) {
+      synchronized (module) {
+        module.runtime.refresh(true);
+      }
+      generation = createGeneration();
+
+      //
+      if (delay > 0) {
+        Thread thread = new Thread("Juzu compiler " + config.name) {
+          @Override
+          public void run() {
+            while (compiler == this) {
+              try {
+                Thread.sleep(delay);
+              }
+              catch (InterruptedException e) {
+                break;
+              }
+              build();
+            }
+          }
+        };
+        thread.setDaemon(true);
+        compiler = thread;
+        thread.start();
+      }
+    }
+    if (refreshed != generation) {
+      refreshed = generation;
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  /**
+   * Build a new generation when the module classes changed, a build failure is logged and the current
+   * generation remains in service until the module sources or classes change again.
+   */
+  void build() {
+    try {
+      synchronized (module) {
+        if (module.runtime.isFailureCurrent()) {
+          return;
+        }
+        module.runtime.refresh(true);
+      }
+      Generation current = generation;
+      if (current.runtime.isStale()) {
+        ClassLoader classLoader = module.runtime.getClassLoader();
+        if (classLoader != failed) {
+          try {
+            generation = createGeneration();
+            failed = null;
+          }
+          catch (Exception e) {
+            failed = classLoader;
+            throw e;
+          }
+          current.release();
+        }
+      } else {
+        current.runtime.refresh();
+      }
+    }
+    catch (Exception e) {
+      log.log("Could not build application " + config.name + ", the previous application remains in service", e);
+    }
+  }
+
+  private Generation createGeneration() throws Exception {
+    ApplicationRuntime<?, ?> runtime = new ApplicationRuntime(
+        log,
+        module.runtime,
+        injector,
+        config.name,
+        context.getResourcePath(),
+        server,
+        resolver);
+    try {
+      runtime.refresh();
+    }
+    catch (Exception e) {
+      Tools.safeClose(runtime);
+      throw e;
+    }
+    Generation generation = new Generation(runtime);
+    generations.put(runtime.getApplication(), generation);
+    return generation;
+  }
+
   public Application getApplication() {
-    return application.getApplication();
+    if (getBackground()) {
+      return generation.runtime.getApplication();
+    } else {
+      return application.getApplication();
+    }
+  }
+
+  @Override
+  public Application acquire() {
+    if (getBackground()) {
+      while (true) {
+        Generation current = generation;
+        if (current.acquire()) {
+          return current.runtime.getApplication();
+        }
+      }
+    } else {
+      return super.acquire();
+    }
+  }
+
+  @Override
+  public void release(Application application) {
+    Generation released = generations.get(application);
+    if (released != null) {
+      released.release();
+    }
   }
 
   public void close() {
+    Thread thread = compiler;
+    if (thread != null) {
+      compiler = null;
+      thread.interrupt();
+    }
+    Generation current = generation;
+    if (current != null) {
+      generation = null;
+      current.release();
+    }
     Tools.safeClose(application);
   }
+
+  /**
+   * An application built in background. A generation is leased by the current generation reference and by
+   * the request handlers using it, it is closed after it has been replaced when the last lease is released.
+   */
+  private class Generation {
+
+    /** . */
+    final ApplicationRuntime<?, ?> runtime;
+
+    /** . */
+    final AtomicInteger leases;
+
+    Generation(ApplicationRuntime<?, ?> runtime) {
+      this.runtime = runtime;
+      this.leases = new AtomicInteger(1);
+    }
+
+    boolean acquire() {
+      while (true) {
+        int current = leases.get();
+        if (current == 0) {
+          return false;
+        } else if (leases.compareAndSet(current, current + 1)) {
+          return true;
+        }
+      }
+    }
+
+    void release() {
+      if (leases.decrementAndGet() == 0) {
+        log.log("Closing application generation " + config.name);
+        generations.remove(runtime.getApplication());
+        Tools.safeClose(runtime);
+      }
+    }
+  }
 }
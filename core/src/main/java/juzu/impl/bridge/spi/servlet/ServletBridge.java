@@ -16,6 +16,7 @@
 
 package juzu.impl.bridge.spi.servlet;
 
+import juzu.impl.asset.AssetCache;
 import juzu.impl.asset.AssetServer;
 import juzu.impl.bridge.Bridge;
 import juzu.impl.bridge.BridgeConfig;
@@ -64,10 +65,10 @@ public class ServletBridge extends HttpServlet {
   private BridgeConfig config;
 
   /** . */
-  private Bridge bridge;
+  private volatile Bridge bridge;
 
   /** . */
-  private Handler handler;
+  private volatile Handler handler;
 
   /** . */
   private String bundleName;
@@ -168,13 +169,37 @@ public class ServletBridge extends HttpServlet {
     return config.getInitParameter("juzu.app_name");
   }
 
-  private void refresh() throws Exception {
+  /**
+   * Refresh the bridge and returns the current handler, the servlet lock is only taken to create the bridge
+   * and to replace the handler.
+   *
+   * @return the current handler
+   * @throws Exception any exception
+   */
+  private Handler refresh() throws Exception {
+    Bridge bridge = this.bridge;
+    if (bridge == null) {
+      bridge = createBridge();
+    }
+
+    //
+    boolean stale = bridge.refresh();
+    Handler current = handler;
+    if (stale || current == null) {
+      current = replaceHandler(bridge, stale);
+    }
+
+    //
+    return current;
+  }
+
+  private synchronized Bridge createBridge() {
     if (bridge == null) {
 
       // Get asset server
       AssetServer server = (AssetServer)getServletContext().getAttribute("asset.server");
       if (server == null) {
-        server = new AssetServer();
+        server = new AssetServer(AssetCache.parseSize(getServletContext().getInitParameter(AssetServer.CACHE_SIZE)));
         getServletContext().setAttribute("asset.server", server);
       }
 
@@ -247,22 +272,25 @@ public class ServletBridge extends HttpServlet {
         bridge = new ApplicationBridge(bridgeContext, log, this.config, server, resolver);
       }
     }
+    return bridge;
+  }
 
-    //
-    boolean stale = bridge.refresh();
+  private synchronized Handler replaceHandler(Bridge bridge, boolean stale) throws Exception {
     if (stale) {
       if (handler != null) {
         Tools.safeClose(handler);
         handler = null;
-        applicationContext = null;
       }
     }
 
     //
     if (handler == null) {
-      this.handler = new Handler(bridge);
       this.applicationContext = new ServletApplicationContext(getServletContext().getClassLoader(), bundleName);
+      this.handler = new Handler(bridge);
     }
+
+    //
+    return handler;
   }
 
   @Override
@@ -284,29 +312,35 @@ public class ServletBridge extends HttpServlet {
       }
     }
 
-    //
-    try {
-      refresh();
-    }
-    catch (CompilationException e) {
-      ctx.send(e);
-      return;
-    }
-    catch (Exception e) {
-      throw wrap(e);
-    }
+    // The handler may be closed by a concurrent refresh before it handles the request, the request is then
+    // handled by the handler of the next refresh
+    while (true) {
+      Handler current;
+      try {
+        current = refresh();
+      }
+      catch (CompilationException e) {
+        ctx.send(e);
+        return;
+      }
+      catch (Exception e) {
+        throw wrap(e);
+      }
 
-    //
-    try {
-      handler.handle(bridge);
-    }
-    catch (Throwable throwable) {
-      throw wrap(throwable);
+      //
+      try {
+        if (current.handle(bridge)) {
+          return;
+        }
+      }
+      catch (Throwable throwable) {
+        throw wrap(throwable);
+      }
     }
   }
 
   @Override
-  public void destroy() {
+  public synchronized void destroy() {
 /*
     if (module != null) {
       if (module.release()) {
@@ -22,9 +22,8 @@ import juzu.impl.inject.Scoped;
 
 import javax.servlet.http.HttpSessionBindingEvent;
 import javax.servlet.http.HttpSessionBindingListener;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * <p></p>An helper class for managing scoped entries. It implements the {@link javax.servlet.http.HttpSessionBindingListener} interface
@@ -32,12 +31,22 @@ import java.util.Iterator;
  * #valueUnbound(javax.servlet.http.HttpSessionBindingEvent)} callback.</p> <p/> <p>At the moment we do not support
  * serialization.</p>
  *
+ * <p>The entries are stored in a single open addressing table with linear probing that holds the keys at even
+ * indexes and the values at odd indexes: a context lives in the session and usually contains a few entries, so it
+ * avoids the map, the entry and the view objects of a hash map.</p>
+ *
  * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
  */
 public class ServletScopedContext implements ScopedContext, HttpSessionBindingListener {
 
+  /** The initial number of slots of the table. */
+  private static final int INITIAL_CAPACITY = 4;
+
+  /** The table, null when the context is empty, its load factor is at most 3/4. */
+  private Object[] table;
+
   /** . */
-  private HashMap<Object, Scoped> state;
+  private int size;
 
   /** . */
   private final Logger log;
@@ -50,7 +59,13 @@ public class ServletScopedContext implements ScopedContext, HttpSessionBindingLi
     if (key == null) {
       throw new NullPointerException("No null key accepted");
     }
-    return state != null ? state.get(key) : null;
+    if (table != null) {
+      int index = indexOf(table, key);
+      if (table[index] != null) {
+        return (Scoped)table[index + 1];
+      }
+    }
+    return null;
   }
 
   public void set(Object key, Scoped scoped) throws NullPointerException {
@@ -58,24 +73,62 @@ public class ServletScopedContext implements ScopedContext, HttpSessionBindingLi
       throw new NullPointerException("No null key accepted");
     }
     if (scoped == null) {
-      if (state != null) {
-        state.remove(key);
+      if (table != null) {
+        int index = indexOf(table, key);
+        if (table[index] != null) {
+          remove(index);
+        }
       }
     }
     else {
-      if (state == null) {
-        state = new HashMap<Object, Scoped>();
+      if (table == null) {
+        table = new Object[INITIAL_CAPACITY * 2];
+      }
+      int index = indexOf(table, key);
+      if (table[index] == null) {
+        if ((size + 1) * 8 > table.length * 3) {
+          resize(table.length * 2);
+          index = indexOf(table, key);
+        }
+        table[index] = key;
+        size++;
       }
-      state.put(key, scoped);
+      table[index + 1] = scoped;
     }
   }
 
   public int size() {
-    return state != null ? state.size() : 0;
+    return size;
   }
 
   public Iterator<Scoped> iterator() {
-    return state == null ? Collections.<Scoped>emptyList().iterator() : state.values().iterator();
+    final Object[] table = this.table;
+    return new Iterator<Scoped>() {
+      int index = next(0);
+      private int next(int from) {
+        if (table != null) {
+          while (from < table.length && table[from] == null) {
+            from += 2;
+          }
+          return from;
+        }
+        return 0;
+      }
+      public boolean hasNext() {
+        return table != null && index < table.length;
+      }
+      public Scoped next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Scoped next = (Scoped)table[index + 1];
+        index = next(index + 2);
+        return next;
+      }
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
   }
 
   public void valueBound(HttpSessionBindingEvent event) {
@@ -87,17 +140,74 @@ public class ServletScopedContext implements ScopedContext, HttpSessionBindingLi
   }
 
   public void close() {
-    if (state != null && state.size() > 0) {
-      for (Iterator<Scoped> i = state.values().iterator();i.hasNext();) {
-        Scoped scoped = i.next();
-        i.remove();
-        try {
-          scoped.destroy();
-        }
-        catch (Throwable t) {
-          log.log("Error when destroying object", t);
+    if (size > 0) {
+      Object[] table = this.table;
+      this.table = null;
+      this.size = 0;
+      for (int i = 0;i < table.length;i += 2) {
+        if (table[i] != null) {
+          try {
+            ((Scoped)table[i + 1]).destroy();
+          }
+          catch (Throwable t) {
+            log.log("Error when destroying object", t);
+          }
         }
       }
     }
   }
+
+  /**
+   * Returns the index of the key slot: the slot containing the key or the empty slot where the key should be
+   * inserted.
+   */
+  private static int indexOf(Object[] table, Object key) {
+    int mask = table.length - 1;
+    int h = key.hashCode();
+    h ^= (h >>> 16);
+    int index = (h << 1) & mask;
+    while (true) {
+      Object current = table[index];
+      if (current == null || current.equals(key)) {
+        return index;
+      }
+      index = (index + 2) & mask;
+    }
+  }
+
+  private void resize(int length) {
+    Object[] previous = table;
+    table = new Object[length];
+    for (int i = 0;i < previous.length;i += 2) {
+      if (previous[i] != null) {
+        int index = indexOf(table, previous[i]);
+        table[index] = previous[i];
+        table[index + 1] = previous[i + 1];
+      }
+    }
+  }
+
+  /**
+   * Remove the entry at the index and shift back the following entries of the probe sequence.
+   */
+  private void remove(int index) {
+    int mask = table.length - 1;
+    table[index] = null;
+    table[index + 1] = null;
+    size--;
+    int next = (index + 2) & mask;
+    while (table[next] != null) {
+      Object key = table[next];
+      Object value = table[next + 1];
+      table[next] = null;
+      table[next + 1] = null;
+      int slot = indexOf(table, key);
+      table[slot] = key;
+      table[slot + 1] = value;
+      next = (next + 2) & mask;
+    }
+    if (size == 0) {
+      table = null;
+    }
+  }
 }
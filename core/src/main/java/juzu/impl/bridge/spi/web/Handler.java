@@ -18,6 +18,7 @@ package juzu.impl.bridge.spi.web;
 
 import juzu.impl.bridge.Bridge;
 import juzu.impl.common.MethodHandle;
+import juzu.impl.plugin.application.Application;
 import juzu.impl.common.UriBuilder;
 import juzu.impl.plugin.controller.ControllerPlugin;
 import juzu.impl.plugin.router.RouteDescriptor;
@@ -27,6 +28,7 @@ import juzu.request.RequestParameter;
 import juzu.impl.router.PathParam;
 import juzu.impl.router.Route;
 import juzu.impl.router.RouteMatch;
+import juzu.impl.router.RouteTrie;
 import juzu.impl.router.Router;
 import juzu.request.Phase;
 
@@ -35,6 +37,8 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class Handler implements Closeable {
@@ -51,9 +55,21 @@ public class Handler implements Closeable {
   /** . */
   final Bridge bridge;
 
+  /** The application acquired by this handler, it remains in use until the handler is closed. */
+  final Application application;
+
+  /** The number of leases on the application: the handler itself and the requests it is handling. */
+  private final AtomicInteger leases;
+
+  /** . */
+  private final AtomicBoolean closed;
+
   /** . */
   final Route root;
 
+  /** The compiled root route used for routing requests. */
+  final RouteTrie trie;
+
   /** . */
   final HashMap<MethodHandle, Route> forwardRoutes;
 
@@ -61,43 +77,54 @@ public class Handler implements Closeable {
   final HashMap<Route, Map<Phase, MethodHandle>> backwardRoutes;
 
   public Handler(Bridge bridge) throws Exception {
-    this.bridge = bridge;
+    Application application = bridge.acquire();
+    try {
 
-    //
-    HashMap<MethodHandle, Route> forwardRoutes = new HashMap<MethodHandle, Route>();
-    HashMap<Route, Map<Phase, MethodHandle>> backwardRoutes = new HashMap<Route, Map<Phase, MethodHandle>>();
+      //
+      HashMap<MethodHandle, Route> forwardRoutes = new HashMap<MethodHandle, Route>();
+      HashMap<Route, Map<Phase, MethodHandle>> backwardRoutes = new HashMap<Route, Map<Phase, MethodHandle>>();
 
-    //
-    Route root;
-    RouterPlugin router = bridge.getApplication().resolveBean(RouterPlugin.class);
-    if (router != null) {
-      RouteDescriptor route = router.getDescriptor();
-      if (route != null) {
-        Map<RouteDescriptor, Route> ret = route.create();
-        root = ret.values().iterator().next();
-        for (Map.Entry<RouteDescriptor, Route> entry : ret.entrySet()) {
-          for (Map.Entry<String, String> entry2 : entry.getKey().getTargets().entrySet()) {
-            MethodHandle handle = MethodHandle.parse(entry2.getValue());
-            Phase phase = Phase.valueOf(entry2.getKey());
-            forwardRoutes.put(handle, entry.getValue());
-            Map<Phase, MethodHandle> map =  backwardRoutes.get(entry.getValue());
-            if (map == null) {
-              backwardRoutes.put(entry.getValue(), map = new HashMap<Phase, MethodHandle>());
+      //
+      Route root;
+      RouterPlugin router = application.resolveBean(RouterPlugin.class);
+      if (router != null) {
+        RouteDescriptor route = router.getDescriptor();
+        if (route != null) {
+          Map<RouteDescriptor, Route> ret = route.create();
+          root = ret.values().iterator().next();
+          for (Map.Entry<RouteDescriptor, Route> entry : ret.entrySet()) {
+            for (Map.Entry<String, String> entry2 : entry.getKey().getTargets().entrySet()) {
+              MethodHandle handle = MethodHandle.parse(entry2.getValue());
+              Phase phase = Phase.valueOf(entry2.getKey());
+              forwardRoutes.put(handle, entry.getValue());
+              Map<Phase, MethodHandle> map =  backwardRoutes.get(entry.getValue());
+              if (map == null) {
+                backwardRoutes.put(entry.getValue(), map = new HashMap<Phase, MethodHandle>());
+              }
+              map.put(phase, handle);
             }
-            map.put(phase, handle);
           }
+        } else {
+          root = new Router();
         }
       } else {
         root = new Router();
       }
-    } else {
-      root = new Router();
-    }
 
-    //
-    this.forwardRoutes = forwardRoutes;
-    this.backwardRoutes = backwardRoutes;
-    this.root = root;
+      //
+      this.bridge = bridge;
+      this.application = application;
+      this.leases = new AtomicInteger(1);
+      this.closed = new AtomicBoolean();
+      this.forwardRoutes = forwardRoutes;
+      this.backwardRoutes = backwardRoutes;
+      this.root = root;
+      this.trie = root.compile();
+    }
+    catch (Exception e) {
+      bridge.release(application);
+      throw e;
+    }
   }
 
   public Map<Phase, MethodHandle> getMethods(Route route) {
@@ -116,7 +143,54 @@ public class Handler implements Closeable {
     return bridge;
   }
 
-  public void handle(WebBridge bridge) throws Throwable {
+  /**
+   * Returns the application served by this handler.
+   *
+   * @return the application
+   */
+  public Application getApplication() {
+    return application;
+  }
+
+  /**
+   * Handle a request, the request is not handled when the handler has been closed and its application released
+   * by a concurrent refresh, the request should then be handled by the current handler.
+   *
+   * @param bridge the web bridge
+   * @return true when the request was handled
+   * @throws Throwable any throwable
+   */
+  public boolean handle(WebBridge bridge) throws Throwable {
+    if (!acquire()) {
+      return false;
+    }
+    try {
+      doHandle(bridge);
+    }
+    finally {
+      release();
+    }
+    return true;
+  }
+
+  /**
+   * Acquire a lease on the application of this handler, the lease must be released with the {@link #release()}
+   * method.
+   *
+   * @return false when the application has already been released
+   */
+  public boolean acquire() {
+    while (true) {
+      int current = leases.get();
+      if (current == 0) {
+        return false;
+      } else if (leases.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private void doHandle(WebBridge bridge) throws Throwable {
 
     //
     String requestPath = bridge.getRequestContext().getRequestPath();
@@ -124,7 +198,7 @@ public class Handler implements Closeable {
     // Determine first a possible match from the root route from the request path
     RouteMatch requestMatch = null;
     if (requestPath.startsWith(bridge.getRequestContext().getPath())) {
-      requestMatch = root.route(requestPath.substring(bridge.getRequestContext().getPath().length()), Collections.<String, String[]>emptyMap());
+      requestMatch = trie.route(requestPath.substring(bridge.getRequestContext().getPath().length()));
     }
 
     // Determine a method + parameters if we have a match
@@ -144,7 +218,7 @@ public class Handler implements Closeable {
         for (Phase phase : phases) {
           MethodHandle handle = m.get(phase);
           if (handle != null) {
-            requestMethod =  this.bridge.getApplication().resolveBean(ControllerPlugin.class).getDescriptor().getMethodByHandle(handle);
+            requestMethod =  application.resolveBean(ControllerPlugin.class).getDescriptor().getMethodByHandle(handle);
             if (requestMatch.getMatched().size() > 0 || bridge.getRequestContext().getParameters().size() > 0) {
               requestParameters = new HashMap<String, RequestParameter>();
               for (RequestParameter requestParameter : bridge.getRequestContext().getParameters().values()) {
@@ -165,7 +239,7 @@ public class Handler implements Closeable {
     // or we look for the handler method
     if (requestMethod == null) {
       // If we have an handler we locate the index method
-      requestMethod = this.bridge.getApplication().resolveBean(ControllerPlugin.class).getResolver().resolve(Phase.VIEW, Collections.<String>emptySet());
+      requestMethod = application.resolveBean(ControllerPlugin.class).getResolver().resolve(Phase.VIEW, Collections.<String>emptySet());
     }
 
     // No method -> not found
@@ -214,6 +288,18 @@ public class Handler implements Closeable {
     }
   }
 
+  /**
+   * Release a lease acquired with the {@link #acquire()} method.
+   */
+  public void release() {
+    if (leases.decrementAndGet() == 0) {
+      bridge.release(application);
+    }
+  }
+
   public void close() throws IOException {
+    if (closed.compareAndSet(false, true)) {
+      release();
+    }
   }
 }
@@ -48,8 +48,8 @@ public abstract class WebMimeBridge extends WebRequestBridge implements MimeBrid
       Result.Status status = (Result.Status)response;
 
       //
-      AssetPlugin assetPlugin = (AssetPlugin)handler.getBridge().getApplication().getPlugin("asset");
-      AMDPlugin amdPlugin = (AMDPlugin)handler.getBridge().getApplication().getPlugin("amd");
+      AssetPlugin assetPlugin = (AssetPlugin)handler.getApplication().getPlugin("asset");
+      AMDPlugin amdPlugin = (AMDPlugin)handler.getApplication().getPlugin("amd");
       
       //
       http.getRequestContext().send(assetPlugin, amdPlugin, status);
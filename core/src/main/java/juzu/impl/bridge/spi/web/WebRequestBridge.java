@@ -35,7 +35,6 @@ import juzu.impl.bridge.spi.ScopedContext;
 import juzu.impl.request.Request;
 import juzu.impl.bridge.spi.RequestBridge;
 import juzu.impl.common.Tools;
-import juzu.impl.router.PathParam;
 import juzu.impl.router.Route;
 import juzu.impl.router.RouteMatch;
 import juzu.request.ApplicationContext;
@@ -48,7 +47,6 @@ import juzu.request.WindowContext;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.RejectedExecutionException;
@@ -171,12 +169,12 @@ public abstract class WebRequestBridge implements RequestBridge, WindowContext {
   }
 
   public final DispatchBridge createDispatch(Phase phase, final MethodHandle target, final Map<String, ResponseParameter> parameters) {
-    Method method = bridge.getApplication().resolveBean(ControllerPlugin.class).getDescriptor().getMethodByHandle(target);
+    Method method = handler.application.resolveBean(ControllerPlugin.class).getDescriptor().getMethodByHandle(target);
 
     //
     Route route = handler.getRoute(method.getHandle());
     if (route == null) {
-      if (bridge.getApplication().resolveBean(ControllerPlugin.class).getResolver().isIndex(method)) {
+      if (handler.application.resolveBean(ControllerPlugin.class).getResolver().isIndex(method)) {
         route = handler.getRoot();
       }
     }
@@ -220,13 +218,8 @@ public abstract class WebRequestBridge implements RequestBridge, WindowContext {
             UriBuilder writer = new UriBuilder(appendable, mimeType);
             match.render(writer);
 
-            // Retain matched parameters for filtering later
-            Set<String> matched = match.getMatched().isEmpty() ? Collections.<String>emptySet() : new HashSet<String>(match.getMatched().size());
-            for (PathParam param : match.getMatched().keySet()) {
-              matched.add(param.getName());
-            }
-
             // Render remaining parameters which have not been rendered yet
+            Set<String> matched = match.getRoute().getPathParamNames();
             for (ResponseParameter parameter : parameters.values()) {
               if (!matched.contains(parameter.getName())) {
                 for (int i = 0;i < parameter.size();i++) {
@@ -265,7 +258,7 @@ public abstract class WebRequestBridge implements RequestBridge, WindowContext {
 
   void invoke() throws Exception {
     try {
-      bridge.getApplication().resolveBean(ControllerPlugin.class).invoke(this);
+      handler.application.resolveBean(ControllerPlugin.class).invoke(this);
     } finally {
       Tools.safeClose(this);
     }
@@ -284,7 +277,7 @@ public abstract class WebRequestBridge implements RequestBridge, WindowContext {
       Phase.View.Dispatch update = (Phase.View.Dispatch)view.dispatch;
       Boolean redirect = view.properties.getValue(PropertyType.REDIRECT_AFTER_ACTION);
       if (redirect != null && !redirect) {
-        Method<?> desc = this.bridge.getApplication().resolveBean(ControllerPlugin.class).getDescriptor().getMethodByHandle(update.getTarget());
+        Method<?> desc = handler.application.resolveBean(ControllerPlugin.class).getDescriptor().getMethodByHandle(update.getTarget());
         Map<String, RequestParameter> rp = Collections.emptyMap();
         for (ResponseParameter parameter : update.getParameters().values()) {
           if (rp.isEmpty()) {
@@ -19,7 +19,9 @@ import juzu.PropertyType;
 import juzu.Response;
 import juzu.asset.AssetLocation;
 import juzu.impl.asset.Asset;
+import juzu.impl.asset.AssetFingerprint;
 import juzu.impl.asset.AssetManager;
+import juzu.impl.asset.AssetServer;
 import juzu.impl.plugin.amd.ModuleManager;
 import juzu.impl.common.Tools;
 import juzu.impl.plugin.amd.Module;
@@ -133,6 +135,24 @@ public abstract class WebStream implements AsyncStream {
 
   public abstract String renderAssetURL(AssetLocation location, String uri);
 
+  /**
+   * Render the URL of an asset, the URL of an application asset is versioned with the asset fingerprint so
+   * it changes when the asset content changes and the client can cache it for a long time.
+   *
+   * @param asset the asset
+   * @return the asset URL
+   */
+  public String renderAssetURL(Asset asset) {
+    String url = renderAssetURL(asset.getLocation(), asset.getURI());
+    if (asset.getLocation() == AssetLocation.APPLICATION && assetManager != null) {
+      AssetFingerprint fingerprint = assetManager.resolveFingerprint(asset.getURI());
+      if (fingerprint != null) {
+        url += (url.indexOf('?') == -1 ? '?' : '&') + AssetServer.VERSION_PARAMETER + "=" + fingerprint.getHash();
+      }
+    }
+    return url;
+  }
+
   public void close(Thread.UncaughtExceptionHandler errorHandler) {
     if (status != CLOSED) {
       try {
@@ -224,7 +244,7 @@ public abstract class WebStream implements AsyncStream {
           String path = asset.getURI();
           int pos = path.lastIndexOf('.');
           String ext = pos == -1 ? "css" : path.substring(pos + 1);
-          String url = renderAssetURL(asset.getLocation(), asset.getURI());
+          String url = renderAssetURL(asset);
           stream.provide(Chunk.create("<link rel=\"stylesheet\" type=\"text/"));
           stream.provide(Chunk.create(ext));
           stream.provide(Chunk.create("\" href=\""));
@@ -237,7 +257,7 @@ public abstract class WebStream implements AsyncStream {
       }
       for (Asset asset : resolvedAssets) {
         if (asset.isScript()) {
-          String url = renderAssetURL(asset.getLocation(), asset.getURI());
+          String url = renderAssetURL(asset);
           stream.provide(Chunk.create("<script type=\"text/javascript\" src=\""));
           stream.provide(Chunk.create(url));
           stream.provide(Chunk.create("\"></script>\n"));
@@ -18,6 +18,7 @@ package juzu.impl.compiler;
 
 import juzu.impl.common.Tools;
 import juzu.impl.common.FileKey;
+import juzu.impl.compiler.file.FileManager;
 import juzu.impl.compiler.file.JavaFileObjectImpl;
 import juzu.impl.compiler.file.SimpleFileManager;
 import juzu.impl.fs.Filter;
@@ -53,7 +54,7 @@ import java.util.Set;
 public class Compiler {
 
   public static Builder builder() {
-    return new Builder(null, null, null, new ArrayList<ReadFileSystem<?>>());
+    return new Builder(null, null, null, new ArrayList<FileManager>(), new ArrayList<ReadFileSystem<?>>());
   }
 
   public static class Builder {
@@ -67,6 +68,9 @@ public class Compiler {
     /** . */
     private ReadWriteFileSystem<?> sourceOutput;
 
+    /** . */
+    private List<FileManager> sharedClassPaths;
+
     /** . */
     private List<ReadFileSystem<?>> classPaths;
 
@@ -83,6 +87,7 @@ public class Compiler {
       ReadFileSystem<?> sourcePath,
       ReadWriteFileSystem<?> sourceOutput,
       ReadWriteFileSystem<?> classOutput,
+      List<FileManager> sharedClassPaths,
       List<ReadFileSystem<?>> classPaths) {
       Provider<JavaCompiler> javaCompiler = new Provider<JavaCompiler>() {
         public JavaCompiler get() {
@@ -94,6 +99,7 @@ public class Compiler {
       this.sourcePath = sourcePath;
       this.sourceOutput = sourceOutput;
       this.classOutput = classOutput;
+      this.sharedClassPaths = sharedClassPaths;
       this.classPaths = classPaths;
       this.config = new CompilerConfig();
     }
@@ -133,6 +139,18 @@ public class Compiler {
       return this;
     }
 
+    /**
+     * Add a class path file manager shared by several compilations, such as an {@link juzu.impl.compiler.file.IndexedFileManager}.
+     * The shared class paths are searched before the class path file systems.
+     *
+     * @param classPath the shared class path
+     * @return this builder
+     */
+    public Builder addClassPath(FileManager classPath) {
+      sharedClassPaths.add(classPath);
+      return this;
+    }
+
     public Builder addClassPath(Iterable<ReadFileSystem<?>> classPaths) {
       for (ReadFileSystem<?> classPath : classPaths) {
         addClassPath(classPath);
@@ -158,6 +176,7 @@ public class Compiler {
       Compiler compiler = new Compiler(
         javaCompiler.get(),
         sourcePath,
+        sharedClassPaths,
         classPaths,
         sourceOutput,
         classOutput,
@@ -185,6 +204,9 @@ public class Compiler {
   /** . */
   private ReadWriteFileSystem<?> sourceOutput;
 
+  /** . */
+  private Collection<? extends FileManager> sharedClassPaths;
+
   /** . */
   private Collection<ReadFileSystem<?>> classPaths;
 
@@ -231,7 +253,19 @@ public class Compiler {
     ReadWriteFileSystem<?> sourceOutput,
     ReadWriteFileSystem<?> classOutput,
     CompilerConfig config) {
+    this(javaCompiler, sourcePath, Collections.<FileManager>emptyList(), classPaths, sourceOutput, classOutput, config);
+  }
+
+  public Compiler(
+    JavaCompiler javaCompiler,
+    ReadFileSystem<?> sourcePath,
+    Collection<? extends FileManager> sharedClassPaths,
+    Collection<ReadFileSystem<?>> classPaths,
+    ReadWriteFileSystem<?> sourceOutput,
+    ReadWriteFileSystem<?> classOutput,
+    CompilerConfig config) {
     this.sourcePath = sourcePath;
+    this.sharedClassPaths = sharedClassPaths;
     this.classPaths = classPaths;
     this.sourceOutput = sourceOutput;
     this.classOutput = classOutput;
@@ -264,6 +298,7 @@ public class Compiler {
     VirtualFileManager fileManager = new VirtualFileManager(
       javaCompiler.getStandardFileManager(null, null, null),
       sourcePath1,
+      sharedClassPaths,
       classPaths,
       sourceOutput,
       classOutput
@@ -303,6 +338,7 @@ public class Compiler {
     VirtualFileManager fileManager = new VirtualFileManager(
       javaCompiler.getStandardFileManager(null, null, null),
       sourcePath,
+      sharedClassPaths,
       classPaths,
       sourceOutput,
       classOutput
@@ -57,6 +57,7 @@ class VirtualFileManager extends ForwardingJavaFileManager<JavaFileManager> impl
   public VirtualFileManager(
     JavaFileManager fileManager,
     ReadFileSystem<?> sourcePath,
+    Collection<? extends FileManager> sharedClassPath,
     Collection<ReadFileSystem<?>> classPath,
     ReadWriteFileSystem<?> sourceOutput,
     ReadWriteFileSystem<?> classOutput) {
@@ -64,7 +65,7 @@ class VirtualFileManager extends ForwardingJavaFileManager<JavaFileManager> impl
 
     //
     this.sourcePath = safeWrap(StandardLocation.SOURCE_PATH, sourcePath);
-    this.classPath = new CompositeFileManager(StandardLocation.CLASS_PATH, classPath);
+    this.classPath = new CompositeFileManager(StandardLocation.CLASS_PATH, sharedClassPath, classPath);
     this.classOutput = safeWrap(StandardLocation.CLASS_OUTPUT, classOutput);
     this.sourceOutput = safeWrap(StandardLocation.SOURCE_OUTPUT, sourceOutput);
   }
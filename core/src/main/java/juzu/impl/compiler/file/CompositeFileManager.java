@@ -24,6 +24,7 @@ import javax.tools.StandardLocation;
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
@@ -33,8 +34,22 @@ public class CompositeFileManager extends FileManager {
   private FileManager[] components;
 
   public CompositeFileManager(StandardLocation location, Collection<ReadFileSystem<?>> fsList) {
-    FileManager[] components = new FileManager[fsList.size()];
+    this(location, Collections.<FileManager>emptyList(), fsList);
+  }
+
+  /**
+   * Create a composite file manager, the shared managers are searched before the file systems.
+   *
+   * @param location the location
+   * @param shared the shared managers
+   * @param fsList the file systems
+   */
+  public CompositeFileManager(StandardLocation location, Collection<? extends FileManager> shared, Collection<ReadFileSystem<?>> fsList) {
+    FileManager[] components = new FileManager[shared.size() + fsList.size()];
     int index = 0;
+    for (FileManager component : shared) {
+      components[index++] = component;
+    }
     for (ReadFileSystem<?> fs : fsList) {
       components[index++] = SimpleFileManager.wrap(location, fs);
     }
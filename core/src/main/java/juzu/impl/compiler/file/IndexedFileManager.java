@@ -0,0 +1,165 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package juzu.impl.compiler.file;
+
+import juzu.impl.common.FileKey;
+import juzu.impl.fs.Visitor;
+import juzu.impl.fs.spi.ReadFileSystem;
+import juzu.impl.fs.spi.disk.DiskFileSystem;
+
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A file manager for a file system that does not change such as the class path of an application. The files are
+ * indexed by package when the manager is created so listing a package is a lookup, the manager can be shared
+ * by several compilations. Only the index and the file handles are kept, a new file object is returned for each
+ * lookup so the content read by a compilation is not retained by the manager.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+public class IndexedFileManager<P> extends FileManager {
+
+  /** . */
+  final StandardLocation location;
+
+  /** . */
+  final ReadFileSystem<P> fs;
+
+  /** The file keys by package name. */
+  private final Map<String, FileKey[]> packages;
+
+  /** The file handles by key. */
+  private final Map<FileKey, P> files;
+
+  public IndexedFileManager(StandardLocation location, ReadFileSystem<P> fs) throws IOException {
+    final HashMap<String, ArrayList<FileKey>> index = new HashMap<String, ArrayList<FileKey>>();
+    final HashMap<FileKey, P> files = new HashMap<FileKey, P>();
+    final StringBuilder buffer = new StringBuilder();
+    fs.traverse(new Visitor.Default<P>() {
+      @Override
+      public void enterDir(P dir, String name) throws IOException {
+        if (name.length() > 0) {
+          buffer.append(name).append('.');
+        }
+      }
+
+      public void file(P file, String name) throws IOException {
+        String packageName = buffer.length() > 0 ? buffer.substring(0, buffer.length() - 1) : "";
+        ArrayList<FileKey> keys = index.get(packageName);
+        if (keys == null) {
+          index.put(packageName, keys = new ArrayList<FileKey>());
+        }
+        FileKey key = FileKey.newName(packageName, name);
+        keys.add(key);
+        files.put(key, file);
+      }
+
+      @Override
+      public void leaveDir(P dir, String name) throws IOException {
+        if (name.length() > 0) {
+          buffer.setLength(buffer.length() - name.length() - 1);
+        }
+      }
+    });
+
+    //
+    HashMap<String, FileKey[]> packages = new HashMap<String, FileKey[]>(index.size());
+    for (Map.Entry<String, ArrayList<FileKey>> entry : index.entrySet()) {
+      ArrayList<FileKey> keys = entry.getValue();
+      packages.put(entry.getKey(), keys.toArray(new FileKey[keys.size()]));
+    }
+
+    //
+    this.location = location;
+    this.fs = fs;
+    this.packages = packages;
+    this.files = files;
+  }
+
+  public ReadFileSystem<P> getFileSystem() {
+    return fs;
+  }
+
+  @Override
+  public void populateRoots(Set<File> roots) throws IOException {
+    if (fs instanceof DiskFileSystem) {
+      roots.add(((DiskFileSystem)fs).getRoot());
+    }
+  }
+
+  @Override
+  public JavaFileObjectImpl<P> getReadable(FileKey key) throws IOException {
+    P file = files.get(key);
+    return file != null ? new JavaFileObjectImpl<P>(location, key, fs, file) : null;
+  }
+
+  @Override
+  public JavaFileObject getWritable(FileKey key) throws IOException {
+    throw new IOException("File system is not writable");
+  }
+
+  @Override
+  public <C extends Collection<JavaFileObject>> C list(
+    String packageName,
+    Set<JavaFileObject.Kind> kinds,
+    boolean recurse,
+    C to) throws IOException {
+    if (recurse) {
+      String prefix = packageName + ".";
+      for (Map.Entry<String, FileKey[]> entry : packages.entrySet()) {
+        String name = entry.getKey();
+        if (packageName.length() == 0 || name.equals(packageName) || name.startsWith(prefix)) {
+          list(entry.getValue(), kinds, to);
+        }
+      }
+    }
+    else {
+      FileKey[] keys = packages.get(packageName);
+      if (keys != null) {
+        list(keys, kinds, to);
+      }
+    }
+    return to;
+  }
+
+  private void list(FileKey[] keys, Set<JavaFileObject.Kind> kinds, Collection<JavaFileObject> to) throws IOException {
+    for (FileKey key : keys) {
+      if (kinds.contains(key.getKind())) {
+        JavaFileObjectImpl<P> readable = getReadable(key);
+        if (readable != null) {
+          to.add(readable);
+        }
+      }
+    }
+  }
+
+  /**
+   * The indexed file system does not change, the index is kept.
+   */
+  @Override
+  public void clearCache() {
+  }
+}
@@ -20,11 +20,14 @@ import juzu.impl.fs.spi.ReadFileSystem;
 import juzu.impl.common.Content;
 import juzu.impl.common.Tools;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HashMap;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public abstract class FileSystemScanner<P> implements Filter<P> {
@@ -37,6 +40,10 @@ public abstract class FileSystemScanner<P> implements Filter<P> {
     return new Hash<P>(fs);
   }
 
+  public static <P> FileSystemScanner<P> createHybrid(ReadFileSystem<P> fs) {
+    return new Hybrid<P>(fs);
+  }
+
   public static class Timestamped<P> extends FileSystemScanner<P> {
     public Timestamped(ReadFileSystem<P> fs) {
       super(fs);
@@ -83,6 +90,79 @@ public abstract class FileSystemScanner<P> implements Filter<P> {
     }
   }
 
+  /**
+   * Detects content changes like the {@link Hash} scanner, but a file is hashed only when its last modified
+   * date or its size changed since the previous scan, otherwise its previous hash is reused. The hash is a
+   * 64 bits FNV-1a hash computed with a buffer reused across files.
+   */
+  public static class Hybrid<P> extends FileSystemScanner<P> {
+
+    /** A file modified within this delay may be modified again with the same metadata, so it is hashed again. */
+    private static final long RACY_DELAY = 2000;
+
+    /** . */
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    /** . */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** The last modified date, the size and the hash of the scanned files. */
+    private final HashMap<String, long[]> stamps;
+
+    /** . */
+    private final byte[] buffer;
+
+    public Hybrid(ReadFileSystem<P> fs) {
+      super(fs);
+
+      //
+      this.stamps = new HashMap<String, long[]>();
+      this.buffer = new byte[8192];
+    }
+
+    @Override
+    protected long stampOf(String id, P file) throws IOException {
+      long lastModified = fs.getLastModified(file);
+      File f = fs.getFile(file);
+      long size = f != null ? f.length() : -1;
+      long[] stamp = stamps.get(id);
+      if (stamp == null || lastModified <= 0 || stamp[0] != lastModified || stamp[1] != size) {
+        if (lastModified > System.currentTimeMillis() - RACY_DELAY) {
+          lastModified = -1;
+        }
+        stamp = new long[]{lastModified, size, hash(file, f)};
+        stamps.put(id, stamp);
+      }
+      return stamp[2];
+    }
+
+    @Override
+    protected long stampOf(P file) throws IOException {
+      return hash(file, fs.getFile(file));
+    }
+
+    private long hash(P file, File f) throws IOException {
+      InputStream in = f != null ? new FileInputStream(f) : fs.getContent(file).getObject().getInputStream();
+      try {
+        long hash = FNV_OFFSET_BASIS;
+        for (int l = in.read(buffer);l != -1;l = in.read(buffer)) {
+          for (int i = 0;i < l;i++) {
+            hash = (hash ^ (buffer[i] & 0xFF)) * FNV_PRIME;
+          }
+        }
+        return hash;
+      }
+      finally {
+        Tools.safeClose(in);
+      }
+    }
+
+    @Override
+    protected boolean isModified(long snapshot, long current) {
+      return snapshot != current;
+    }
+  }
+
   /** . */
   protected final ReadFileSystem<P> fs;
 
@@ -109,6 +189,10 @@ public abstract class FileSystemScanner<P> implements Filter<P> {
     return !name.startsWith(".");
   }
 
+  protected long stampOf(String id, P file) throws IOException {
+    return stampOf(file);
+  }
+
   protected abstract long stampOf(P file) throws IOException;
 
   protected abstract boolean isModified(long snapshot, long current);
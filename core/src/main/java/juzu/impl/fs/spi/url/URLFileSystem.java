@@ -30,16 +30,68 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.jar.JarEntry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarFile;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class URLFileSystem extends ReadFileSystem<Node> {
 
+  /** The entry names of the jar files keyed by the jar file path, an entry is valid for a jar modification time. */
+  private static final ConcurrentHashMap<String, JarEntries> jars = new ConcurrentHashMap<String, JarEntries>();
+
+  /**
+   * Returns the entry names of a jar file, the jar file is read only when it has been modified since it was
+   * last read.
+   *
+   * @param file the jar file
+   * @return the entry names
+   * @throws IOException any io exception
+   */
+  private static String[] getEntries(File file) throws IOException {
+    String path = file.getAbsolutePath();
+    long lastModified = file.lastModified();
+    JarEntries entries = jars.get(path);
+    if (entries == null || entries.lastModified != lastModified) {
+      ArrayList<String> names = new ArrayList<String>();
+      JarFile jar = new JarFile(file, false);
+      try {
+        for (JarEntry entry : Tools.iterable(jar.entries())) {
+          names.add(entry.getName());
+        }
+      }
+      finally {
+        try {
+          jar.close();
+        }
+        catch (IOException ignore) {
+        }
+      }
+      jars.put(path, entries = new JarEntries(lastModified, names.toArray(new String[names.size()])));
+    }
+    return entries.names;
+  }
+
+  /** . */
+  private static class JarEntries {
+
+    /** . */
+    private final long lastModified;
+
+    /** . */
+    private final String[] names;
+
+    private JarEntries(long lastModified, String[] names) {
+      this.lastModified = lastModified;
+      this.names = names;
+    }
+  }
+
   /** . */
   private final Node root;
 
@@ -140,9 +192,8 @@ public class URLFileSystem extends ReadFileSystem<Node> {
       if (file.isDirectory()) {
         root.merge(file);
       } else {
-        JarFile jar = new JarFile(file, false);
-        for (JarEntry entry : Tools.iterable(jar.entries())) {
-          root.merge("jar:" + url + "!/", entry.getName());
+        for (String name : getEntries(file)) {
+          root.merge("jar:" + url + "!/", name);
         }
       }
     } else if ("jar".equals(protocol)) {
@@ -161,9 +212,7 @@ public class URLFileSystem extends ReadFileSystem<Node> {
           if (prefix.length() > 0 && !prefix.endsWith("/")) {
             throw new IllegalArgumentException("Wrong nested jar URL, should end with a / or be empty" + url);
           }
-          JarFile jar = new JarFile(file, false);
-          for (JarEntry entry : Tools.iterable(jar.entries())) {
-            String name = entry.getName();
+          for (String name : getEntries(file)) {
             if (name.startsWith(prefix)) {
               root.merge("jar:" + inner + "!/" + prefix, name.substring(prefix.length()));
             }
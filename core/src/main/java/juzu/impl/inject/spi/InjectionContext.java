@@ -20,12 +20,30 @@ import juzu.impl.inject.ScopeController;
 
 import java.io.Closeable;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public abstract class InjectionContext<B, I> implements Closeable {
 
+  /** Marks a type that does not resolve to a bean in the {@link #beanCache}. */
+  private static final Object NO_BEAN = new Object();
+
+  /** The bean resolved by type, the beans of a context don't change during its lifetime. */
+  private final ConcurrentHashMap<Class<?>, Object> beanCache = new ConcurrentHashMap<Class<?>, Object>();
+
+  /** The beans resolved by type. */
+  private final ConcurrentHashMap<Class<?>, Resolution<B, ?>> beansCache = new ConcurrentHashMap<Class<?>, Resolution<B, ?>>();
+
+  /** The life cycles of the singleton beans resolved by type. */
+  private final ConcurrentHashMap<Class<?>, BeanLifeCycle<?>> singletonCache = new ConcurrentHashMap<Class<?>, BeanLifeCycle<?>>();
+
+  /** The life cycle of each singleton bean, shared by all the types the bean is resolved with. */
+  private final ConcurrentHashMap<Object, SingletonLifeCycle<B, I>> singletons = new ConcurrentHashMap<Object, SingletonLifeCycle<B, I>>();
+
   public abstract ScopeController getScopeController();
 
   /**
@@ -64,6 +82,27 @@ public abstract class InjectionContext<B, I> implements Closeable {
 
   public abstract void release(B bean, I instance);
 
+  /**
+   * Returns true when the bean is a singleton, the life cycle of a singleton bean is shared and its instance is
+   * never released by the life cycle, this method returns false by default.
+   *
+   * @param bean the bean
+   * @return true when the bean is a singleton
+   */
+  protected boolean isSingleton(B bean) {
+    return false;
+  }
+
+  /**
+   * Clear the beans resolved by type, the implementation should invoke it when the beans it manages are discarded.
+   */
+  protected final void invalidate() {
+    beanCache.clear();
+    beansCache.clear();
+    singletonCache.clear();
+    singletons.clear();
+  }
+
   /**
    * Close the manager. The implementation should care bout shutting down the existing bean in particular the
    * singleton beans that are managed outside of an explicit scope.
@@ -103,27 +142,144 @@ public abstract class InjectionContext<B, I> implements Closeable {
     }
   }
 
+  private static class SingletonLifeCycle<B,I> implements BeanLifeCycle<Object> {
+
+    final InjectionContext<B, I> manager;
+    final B a;
+    private volatile Object o;
+
+    private SingletonLifeCycle(InjectionContext<B, I> manager, B a) {
+      this.manager = manager;
+      this.a = a;
+    }
+
+    public Object get() throws InvocationTargetException {
+      Object o = this.o;
+      if (o == null) {
+        synchronized (this) {
+          if ((o = this.o) == null) {
+            this.o = o = manager.get(a, manager.create(a));
+          }
+        }
+      }
+      return o;
+    }
+
+    public Object peek() {
+      return o;
+    }
+
+    public void close() {
+      // The singleton instance is owned by the container
+    }
+  }
+
+  /**
+   * Returns the life cycle of a singleton bean, the same life cycle is returned for a bean whatever the type it
+   * was resolved with.
+   *
+   * @param bean the singleton bean
+   * @param type the type the bean was resolved with
+   * @return the singleton life cycle
+   */
+  private <T> BeanLifeCycle<T> getSingleton(B bean, Class<T> type) {
+    SingletonLifeCycle<B, I> singleton = singletons.get(bean);
+    if (singleton == null) {
+      singleton = new SingletonLifeCycle<B, I>(this, bean);
+      SingletonLifeCycle<B, I> previous = singletons.putIfAbsent(bean, singleton);
+      if (previous != null) {
+        singleton = previous;
+      }
+    }
+    // The bean was resolved for the type, so its instance is an instance of the type
+    @SuppressWarnings("unchecked") BeanLifeCycle<T> lifeCycle = (BeanLifeCycle<T>)(BeanLifeCycle<?>)singleton;
+    return lifeCycle;
+  }
+
+  private B lookupBean(Class<?> type) {
+    Object bean = beanCache.get(type);
+    if (bean == null) {
+      bean = resolveBean(type);
+      beanCache.put(type, bean != null ? bean : NO_BEAN);
+    } else if (bean == NO_BEAN) {
+      bean = null;
+    }
+    @SuppressWarnings("unchecked") B b = (B)bean;
+    return b;
+  }
+
+  /**
+   * The beans resolved for a type along with the shared life cycle of the singleton beans.
+   */
+  private static class Resolution<B, T> {
+
+    final List<B> beans;
+    final BeanLifeCycle<T>[] singletons;
+
+    private Resolution(List<B> beans, BeanLifeCycle<T>[] singletons) {
+      this.beans = beans;
+      this.singletons = singletons;
+    }
+  }
+
+  private <T> Resolution<B, T> lookupBeans(Class<T> type) {
+    @SuppressWarnings("unchecked") Resolution<B, T> resolution = (Resolution<B, T>)beansCache.get(type);
+    if (resolution == null) {
+      ArrayList<B> beans = new ArrayList<B>();
+      for (B bean : resolveBeans(type)) {
+        beans.add(bean);
+      }
+      @SuppressWarnings("unchecked") BeanLifeCycle<T>[] singletons = new BeanLifeCycle[beans.size()];
+      for (int i = 0;i < singletons.length;i++) {
+        B bean = beans.get(i);
+        if (isSingleton(bean)) {
+          singletons[i] = getSingleton(bean, type);
+        }
+      }
+      resolution = new Resolution<B, T>(beans, singletons);
+      @SuppressWarnings("unchecked") Resolution<B, T> previous = (Resolution<B, T>)beansCache.putIfAbsent(type, resolution);
+      if (previous != null) {
+        resolution = previous;
+      }
+    }
+    return resolution;
+  }
+
   public final <T> BeanLifeCycle<T> get(Class<T> type) {
-    final B a = resolveBean(type);
-    if (a == null) {
-      return null;
-    } else {
-      return new BeanLifeCycleImpl<B,I,T>(type, this, a);
+    @SuppressWarnings("unchecked") BeanLifeCycle<T> lifeCycle = (BeanLifeCycle<T>)singletonCache.get(type);
+    if (lifeCycle == null) {
+      final B a = lookupBean(type);
+      if (a == null) {
+        return null;
+      } else if (isSingleton(a)) {
+        lifeCycle = getSingleton(a, type);
+        @SuppressWarnings("unchecked") BeanLifeCycle<T> previous = (BeanLifeCycle<T>)singletonCache.putIfAbsent(type, lifeCycle);
+        if (previous != null) {
+          lifeCycle = previous;
+        }
+      } else {
+        lifeCycle = new BeanLifeCycleImpl<B,I,T>(type, this, a);
+      }
     }
+    return lifeCycle;
   }
 
   public final <T> Iterable<BeanLifeCycle<T>> resolve(final Class<T> type) {
-    final Iterable<B> a = resolveBeans(type);
+    final Resolution<B, T> resolution = lookupBeans(type);
     return new Iterable<BeanLifeCycle<T>>() {
       public Iterator<BeanLifeCycle<T>> iterator() {
         return new Iterator<BeanLifeCycle<T>>() {
-          final Iterator<B> i = a.iterator();
+          int index = 0;
           public boolean hasNext() {
-            return i.hasNext();
+            return index < resolution.singletons.length;
           }
           public BeanLifeCycle<T> next() {
-            B b = i.next();
-            return new BeanLifeCycleImpl<B,I,T>(type, InjectionContext.this, b);
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            int i = index++;
+            BeanLifeCycle<T> singleton = resolution.singletons[i];
+            return singleton != null ? singleton : new BeanLifeCycleImpl<B,I,T>(type, InjectionContext.this, resolution.beans.get(i));
           }
           public void remove() {
             throw new UnsupportedOperationException();
@@ -22,10 +22,13 @@ import juzu.impl.common.Filter;
 import juzu.impl.inject.spi.InjectorProvider;
 import juzu.impl.inject.spi.InjectionContext;
 
+import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.CreationException;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Singleton;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -113,6 +116,12 @@ public abstract class CDIContext extends InjectionContext<Bean<?>, CreationalCon
     return manager.createCreationalContext(bean);
   }
 
+  @Override
+  protected boolean isSingleton(Bean<?> bean) {
+    Class<? extends Annotation> scope = bean.getScope();
+    return scope == Singleton.class || scope == ApplicationScoped.class;
+  }
+
   public void release(Bean<?> bean, CreationalContext<?> instance) {
     instance.release();
   }
@@ -132,5 +141,6 @@ public abstract class CDIContext extends InjectionContext<Bean<?>, CreationalCon
   }
 
   public void close() {
+    invalidate();
   }
 }
@@ -78,6 +78,7 @@ public class WeldInjector extends CDIInjector {
       }
       @Override
       public void close() {
+        super.close();
         container.stop();
       }
     };
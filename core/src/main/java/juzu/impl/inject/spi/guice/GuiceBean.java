@@ -26,4 +26,23 @@ class GuiceBean {
   public GuiceBean(Binding<?> binding) {
     this.binding = binding;
   }
+
+  @Override
+  public int hashCode() {
+    return binding.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    else if (obj instanceof GuiceBean) {
+      GuiceBean that = (GuiceBean)obj;
+      return binding.equals(that.binding);
+    }
+    else {
+      return false;
+    }
+  }
 }
@@ -22,6 +22,7 @@ import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.ProvisionException;
+import com.google.inject.Scopes;
 import com.google.inject.TypeLiteral;
 import com.google.inject.binder.LinkedBindingBuilder;
 import com.google.inject.binder.ScopedBindingBuilder;
@@ -230,6 +231,11 @@ public class GuiceContext extends InjectionContext<GuiceBean, Object> {
     return instance;
   }
 
+  @Override
+  protected boolean isSingleton(GuiceBean bean) {
+    return Scopes.isSingleton(bean.binding);
+  }
+
   public void release(GuiceBean bean, Object instance) {
     Scoping scoping = ((BindingImpl)bean.binding).getScoping();
     if (scoping.isNoScope()) {
@@ -257,6 +263,7 @@ public class GuiceContext extends InjectionContext<GuiceBean, Object> {
   }
 
   public void close() {
+    invalidate();
     for (Binding<?> binding : injector.getAllBindings().values()) {
       Scoping scoping = ((BindingImpl)binding).getScoping();
       if (scoping == Scoping.SINGLETON_INSTANCE) {
@@ -114,6 +114,11 @@ public class SpringContext extends InjectionContext<String, Object> {
     return instance;
   }
 
+  @Override
+  protected boolean isSingleton(String bean) {
+    return factory.isSingleton(bean);
+  }
+
   public void release(String bean, Object instance) {
     if (factory.isPrototype(bean)) {
       factory.destroyBean(bean, instance);
@@ -121,6 +126,7 @@ public class SpringContext extends InjectionContext<String, Object> {
   }
 
   public void close() {
+    invalidate();
     factory.destroySingletons();
   }
 }
@@ -15,6 +15,7 @@
  */
 package juzu.impl.io;
 
+import juzu.io.Chunk;
 import juzu.io.OutputStream;
 
 import java.io.IOException;
@@ -44,6 +45,15 @@ public abstract class BinaryStream extends OutputStream {
     this.charset = charset;
   }
 
+  @Override
+  public void append(Chunk.Data.Text text) throws IOException {
+    if (charset.equals(text.charset)) {
+      append(text.data);
+    } else {
+      super.append(text);
+    }
+  }
+
   public void append(CharBuffer buffer) throws IOException {
     if (buffer.hasRemaining()) {
       if (encoder == null) {
@@ -25,11 +25,14 @@ import juzu.impl.bridge.spi.RenderBridge;
 import juzu.impl.bridge.spi.RequestBridge;
 import juzu.impl.bridge.spi.ResourceBridge;
 import juzu.impl.common.MethodHandle;
+import juzu.impl.common.Tools;
+import juzu.impl.inject.spi.BeanLifeCycle;
 import juzu.impl.inject.spi.InjectionContext;
 import juzu.impl.plugin.PluginContext;
 import juzu.impl.plugin.application.ApplicationPlugin;
 import juzu.impl.plugin.controller.descriptor.ControllersDescriptor;
 import juzu.impl.request.ContextualParameter;
+import juzu.impl.request.ExecutionFilter;
 import juzu.impl.request.Method;
 import juzu.impl.request.Request;
 import juzu.impl.request.RequestFilter;
@@ -38,8 +41,10 @@ import juzu.request.Phase;
 
 import javax.inject.Inject;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class ControllerPlugin extends ApplicationPlugin implements RequestFilter {
@@ -47,8 +52,14 @@ public class ControllerPlugin extends ApplicationPlugin implements RequestFilter
   /** . */
   private ControllersDescriptor descriptor;
 
-  /** . */
-  public ArrayList<RequestFilter> filters;
+  /** The request filter chain, resolved once. */
+  private volatile RequestFilter[] requestFilters;
+
+  /** The execution filter chain, resolved once. */
+  private volatile ExecutionFilter[] executionFilters;
+
+  /** The singleton controllers, created once. */
+  private final ConcurrentHashMap<Class<?>, Object> singletons = new ConcurrentHashMap<Class<?>, Object>();
 
   @Inject
   private InjectionContext injectionContext;
@@ -67,13 +78,68 @@ public class ControllerPlugin extends ApplicationPlugin implements RequestFilter
 
   @Override
   public PluginDescriptor init(PluginContext context) throws Exception {
-    return descriptor = new ControllersDescriptor(context.getClassLoader(), context.getConfig());
+    descriptor = new ControllersDescriptor(context.getClassLoader(), context.getConfig());
+    descriptor.getResolver().index();
+    return descriptor;
   }
 
   public InjectionContext<?, ?> getInjectionContext() {
     return injectionContext;
   }
 
+  /**
+   * Returns the request filter chain. The chain is resolved from the injection context on the first call and then
+   * reused, since the plugin lives as long as its injection context the chain is resolved again when the
+   * application is reloaded.
+   *
+   * @return the request filters
+   */
+  public RequestFilter[] getRequestFilters() {
+    RequestFilter[] filters = requestFilters;
+    if (filters == null) {
+      List<RequestFilter> list = Tools.list(injectionContext.resolveInstances(RequestFilter.class));
+      requestFilters = filters = list.toArray(new RequestFilter[list.size()]);
+    }
+    return filters;
+  }
+
+  /**
+   * Returns the execution filter chain, it is resolved once like the {@link #getRequestFilters()} chain.
+   *
+   * @return the execution filters
+   */
+  public ExecutionFilter[] getExecutionFilters() {
+    ExecutionFilter[] filters = executionFilters;
+    if (filters == null) {
+      List<ExecutionFilter> list = Tools.list(injectionContext.resolveInstances(ExecutionFilter.class));
+      executionFilters = filters = list.toArray(new ExecutionFilter[list.size()]);
+    }
+    return filters;
+  }
+
+  /**
+   * Returns the instance of a singleton controller. The instance is created and injected by the first call and
+   * is then reused by the requests without the creation and the release of the bean.
+   *
+   * @param type the controller type
+   * @return the controller instance or null if the controller cannot be resolved
+   * @throws InvocationTargetException any exception thrown by the controller creation
+   */
+  public Object getSingleton(Class<?> type) throws InvocationTargetException {
+    Object controller = singletons.get(type);
+    if (controller == null) {
+      BeanLifeCycle<?> lifeCycle = injectionContext.get(type);
+      if (lifeCycle != null) {
+        controller = lifeCycle.get();
+        Object previous = singletons.putIfAbsent(type, controller);
+        if (previous != null) {
+          controller = previous;
+        }
+      }
+    }
+    return controller;
+  }
+
   public void invoke(RequestBridge bridge) {
     Phase phase;
     if (bridge instanceof RenderBridge) {
@@ -21,6 +21,7 @@ import juzu.request.Phase;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -66,6 +67,179 @@ public abstract class ControllerResolver<M> {
 
   public abstract Collection<String> getParameterNames(M method);
 
+  /** The dispatch table, null until the resolver is indexed. */
+  private volatile Table table;
+
+  /**
+   * Precompute a dispatch table of the methods returned by {@link #getMethods()}, the resolution of a method for a
+   * phase uses then the table instead of scanning and scoring all the methods. This must be called only when
+   * the resolver methods will not change anymore.
+   */
+  public final void index() {
+    table = new Table();
+  }
+
+  /**
+   * A candidate method with its parameter names as a bitset.
+   */
+  private class Entry {
+
+    /** . */
+    final M method;
+
+    /** . */
+    final long[] bits;
+
+    /** . */
+    final int size;
+
+    /** . */
+    final int score4;
+
+    Entry(M method, long[] bits, int size) {
+      this.method = method;
+      this.bits = bits;
+      this.size = size;
+      this.score4 = isDefault(method) ? 0 : 1;
+    }
+  }
+
+  /**
+   * The dispatch table: the candidates are grouped by phase and method id and the parameter names are
+   * mapped to bits so a candidate score is computed with a few bitwise operations.
+   */
+  private class Table {
+
+    /** The bit of each parameter name. */
+    final HashMap<String, Integer> bits = new HashMap<String, Integer>();
+
+    /** The number of words of a bitset. */
+    final int words;
+
+    /** The candidates by phase. */
+    final HashMap<Phase, List<Entry>> byPhase = new HashMap<Phase, List<Entry>>();
+
+    /** The index candidates by phase. */
+    final HashMap<Phase, List<Entry>> byIndex = new HashMap<Phase, List<Entry>>();
+
+    /** The candidates by phase and method id. */
+    final HashMap<Phase, HashMap<String, List<Entry>>> byId = new HashMap<Phase, HashMap<String, List<Entry>>>();
+
+    Table() {
+      M[] methods = getMethods();
+
+      // Assign a bit to each parameter name
+      for (M method : methods) {
+        for (String name : getParameterNames(method)) {
+          if (!bits.containsKey(name)) {
+            bits.put(name, bits.size());
+          }
+        }
+      }
+      words = (bits.size() >> 6) + 1;
+
+      //
+      for (Phase phase : Phase.values()) {
+        byPhase.put(phase, new ArrayList<Entry>());
+        byIndex.put(phase, new ArrayList<Entry>());
+        byId.put(phase, new HashMap<String, List<Entry>>());
+      }
+      for (M method : methods) {
+        HashSet<String> names = new HashSet<String>(getParameterNames(method));
+        long[] set = new long[words];
+        for (String name : names) {
+          int bit = bits.get(name);
+          set[bit >> 6] |= 1L << bit;
+        }
+        Entry entry = new Entry(method, set, names.size());
+        Phase phase = getPhase(method);
+        byPhase.get(phase).add(entry);
+        if (phase != Phase.VIEW || getName(method).equals("index")) {
+          byIndex.get(phase).add(entry);
+        }
+        List<Entry> entries = byId.get(phase).get(getId(method));
+        if (entries == null) {
+          byId.get(phase).put(getId(method), entries = new ArrayList<Entry>());
+        }
+        entries.add(entry);
+      }
+    }
+
+    List<Entry> get(Phase phase, String methodId) {
+      if (methodId == null) {
+        return byPhase.get(phase);
+      } else {
+        List<Entry> entries = byId.get(phase).get(methodId);
+        return entries != null ? entries : Collections.<Entry>emptyList();
+      }
+    }
+
+    /**
+     * Select the best candidate with the same criteria than {@link Match} without sorting the candidates.
+     */
+    M select(List<Entry> candidates, Set<String> parameterNames) throws AmbiguousResolutionException {
+      int size = candidates.size();
+      if (size == 0) {
+        return null;
+      } else if (size == 1) {
+        return candidates.get(0).method;
+      }
+
+      //
+      long[] set = new long[words];
+      for (String name : parameterNames) {
+        Integer bit = bits.get(name);
+        if (bit != null) {
+          set[bit >> 6] |= 1L << bit;
+        }
+      }
+
+      //
+      Entry best = null, tie = null;
+      int best1 = 0, best2 = 0, best3 = 0;
+      for (int i = 0;i < size;i++) {
+        Entry candidate = candidates.get(i);
+        int score1 = 0;
+        for (int j = 0;j < words;j++) {
+          score1 += Long.bitCount(set[j] & candidate.bits[j]);
+        }
+        int score2 = candidate.size - score1;
+        int score3 = parameterNames.size() - score1;
+        int delta;
+        if (best == null) {
+          delta = -1;
+        } else {
+          delta = best1 - score1;
+          if (delta == 0) {
+            delta = score2 - best2;
+            if (delta == 0) {
+              delta = score3 - best3;
+              if (delta == 0) {
+                delta = candidate.score4 - best.score4;
+              }
+            }
+          }
+        }
+        if (delta < 0) {
+          best = candidate;
+          best1 = score1;
+          best2 = score2;
+          best3 = score3;
+          tie = null;
+        } else if (delta == 0 && tie == null) {
+          tie = candidate;
+        }
+      }
+
+      //
+      if (tie != null) {
+        throw new AmbiguousResolutionException("Two methods satisfies the index criteria: " +
+            best.method + " and " + tie.method);
+      }
+      return best.method;
+    }
+  }
+
   private class Match implements Comparable<Match> {
 
     /** . */
@@ -140,6 +314,12 @@ public abstract class ControllerResolver<M> {
       throw new NullPointerException("No null parameter names accepted");
     }
 
+    //
+    Table table = this.table;
+    if (table != null) {
+      return table.select(table.byIndex.get(phase), parameterNames);
+    }
+
     //
     List<Match> matches = new ArrayList<Match>();
     for (M method : getMethods()) {
@@ -177,6 +357,12 @@ public abstract class ControllerResolver<M> {
       throw new NullPointerException("Phase parameter cannot be null");
     }
 
+    //
+    Table table = this.table;
+    if (table != null) {
+      return table.select(table.get(phase, methodId), parameterNames);
+    }
+
     //
     List<Match> matches = new ArrayList<Match>();
     for (M method : getMethods()) {
@@ -210,9 +396,16 @@ public abstract class ControllerResolver<M> {
 
     //
     List<Match> matches = new ArrayList<Match>();
-    for (M method : getMethods()) {
-      if (getPhase(method) == phase && (methodId == null || methodId.equals(getId(method)))) {
-        matches.add(new Match(parameterNames, method));
+    Table table = this.table;
+    if (table != null) {
+      for (Entry entry : table.get(phase, methodId)) {
+        matches.add(new Match(parameterNames, entry.method));
+      }
+    } else {
+      for (M method : getMethods()) {
+        if (getPhase(method) == phase && (methodId == null || methodId.equals(getId(method)))) {
+          matches.add(new Match(parameterNames, method));
+        }
       }
     }
 
@@ -27,11 +27,19 @@ public class ControllerDescriptor {
   /** . */
   private final Class<?> type;
 
+  /** . */
+  private final boolean singleton;
+
   /** . */
   private final List<Method<?>> methods;
 
   public ControllerDescriptor(Class<?> type, List<Method<?>> methods) {
+    this(type, false, methods);
+  }
+
+  public ControllerDescriptor(Class<?> type, boolean singleton, List<Method<?>> methods) {
     this.type = type;
+    this.singleton = singleton;
     this.methods = Collections.unmodifiableList(methods);
   }
 
@@ -43,6 +51,16 @@ public class ControllerDescriptor {
     return type;
   }
 
+  /**
+   * Returns true when the controller is a singleton: a single instance is created and injected, it is then
+   * shared by the requests, such controller must be thread safe.
+   *
+   * @return true when the controller is a singleton
+   */
+  public boolean isSingleton() {
+    return singleton;
+  }
+
   public List<Method<?>> getMethods() {
     return methods;
   }
@@ -16,6 +16,7 @@
 
 package juzu.impl.plugin.controller.descriptor;
 
+import juzu.Scope;
 import juzu.impl.common.MethodHandle;
 import juzu.impl.plugin.PluginDescriptor;
 import juzu.impl.inject.BeanDescriptor;
@@ -27,8 +28,10 @@ import juzu.impl.request.Method;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class ControllersDescriptor extends PluginDescriptor {
@@ -54,6 +57,9 @@ public class ControllersDescriptor extends PluginDescriptor {
   /** . */
   private final Map<MethodHandle, Method> byHandle;
 
+  /** The singleton controller types. */
+  private final Set<Class<?>> singletons;
+
   public ControllersDescriptor(ApplicationDescriptor desc) throws Exception {
     this(desc.getApplicationLoader(), desc.getConfig().getJSON("controller"));
   }
@@ -63,6 +69,7 @@ public class ControllersDescriptor extends PluginDescriptor {
     ArrayList<Method> controllerMethods = new ArrayList<Method>();
     ArrayList<juzu.impl.inject.BeanDescriptor> beans = new ArrayList<juzu.impl.inject.BeanDescriptor>();
     HashMap<MethodHandle, Method> byHandle = new HashMap<MethodHandle, Method>();
+    HashSet<Class<?>> singletons = new HashSet<Class<?>>();
 
     // Load controllers
     for (String fqn : config.getList("controllers", String.class)) {
@@ -74,7 +81,12 @@ public class ControllersDescriptor extends PluginDescriptor {
       }
       controllers.add(bean);
       controllerMethods.addAll(bean.getMethods());
-      beans.add(BeanDescriptor.createFromBean(bean.getType(), null, null));
+      if (bean.isSingleton()) {
+        singletons.add(bean.getType());
+        beans.add(BeanDescriptor.createFromBean(bean.getType(), Scope.SINGLETON, null));
+      } else {
+        beans.add(BeanDescriptor.createFromBean(bean.getType(), null, null));
+      }
     }
 
     //
@@ -95,6 +107,7 @@ public class ControllersDescriptor extends PluginDescriptor {
     this.beans = beans;
     this.resolver = new ControllerDescriptorResolver(this);
     this.byHandle = byHandle;
+    this.singletons = singletons;
   }
 
   public Iterable<juzu.impl.inject.BeanDescriptor> getBeans() {
@@ -150,6 +163,10 @@ public class ControllersDescriptor extends PluginDescriptor {
     return null;
   }
 
+  public boolean isSingleton(Class<?> type) {
+    return singletons.contains(type);
+  }
+
   public Method getMethodByHandle(MethodHandle handle) {
     return byHandle.get(handle);
   }
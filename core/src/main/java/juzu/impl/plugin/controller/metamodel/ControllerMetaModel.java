@@ -55,6 +55,9 @@ public class ControllerMetaModel extends MetaModelObject implements Iterable<Met
   /** A flag for handling modified event. */
   boolean modified;
 
+  /** True when the controller is annotated with {@link javax.inject.Singleton}. */
+  boolean singleton;
+
   /** The application. */
   ControllersMetaModel controllers;
 
@@ -85,6 +88,10 @@ public class ControllerMetaModel extends MetaModelObject implements Iterable<Met
     return handle;
   }
 
+  public boolean isSingleton() {
+    return singleton;
+  }
+
   public Collection<MethodMetaModel> getMethods() {
     return getChildren(MethodMetaModel.class);
   }
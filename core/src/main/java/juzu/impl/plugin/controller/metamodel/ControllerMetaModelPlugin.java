@@ -19,6 +19,7 @@ package juzu.impl.plugin.controller.metamodel;
 import juzu.Action;
 import juzu.Application;
 import juzu.Consumes;
+import juzu.Mapped;
 import juzu.Resource;
 import juzu.View;
 import juzu.impl.common.Name;
@@ -29,8 +30,10 @@ import juzu.impl.metamodel.AnnotationState;
 import juzu.impl.compiler.ProcessingException;
 import juzu.impl.compiler.ElementHandle;
 import juzu.impl.compiler.ProcessingContext;
+import juzu.impl.request.BeanBinder;
 import juzu.impl.request.ContextualParameter;
 import juzu.impl.request.ControlParameter;
+import juzu.impl.request.Invoker;
 import juzu.impl.request.Method;
 import juzu.impl.request.PhaseParameter;
 import juzu.impl.plugin.controller.descriptor.ControllerDescriptor;
@@ -43,9 +46,19 @@ import juzu.impl.common.Tools;
 import juzu.request.Phase;
 
 import javax.annotation.Generated;
+import javax.inject.Singleton;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
 import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
 import javax.tools.JavaFileObject;
 import java.io.IOException;
 import java.io.Writer;
@@ -55,6 +68,9 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
@@ -75,6 +91,9 @@ public class ControllerMetaModelPlugin extends ApplicationMetaModelPlugin {
   /** . */
   private static final String CONTEXTUAL_PARAMETER = ContextualParameter.class.getSimpleName();
 
+  /** . */
+  private static final String BEAN_BINDER = BeanBinder.class.getSimpleName();
+
   /** . */
   private static final String PHASE = Phase.class.getSimpleName();
 
@@ -137,6 +156,12 @@ public class ControllerMetaModelPlugin extends ApplicationMetaModelPlugin {
   @Override
   public void postProcessAnnotations(ApplicationMetaModel application) {
     for (ControllerMetaModel controller : application.getChild(ControllersMetaModel.KEY)) {
+      TypeElement controllerElt = application.model.processingContext.get(controller.getHandle());
+      boolean singleton = controllerElt != null && controllerElt.getAnnotation(Singleton.class) != null;
+      if (singleton != controller.singleton) {
+        controller.singleton = singleton;
+        controller.modified = true;
+      }
       if (controller.modified) {
         controller.modified = false;
         controller.queue(MetaModelEvent.createUpdated(controller));
@@ -226,7 +251,29 @@ public class ControllerMetaModelPlugin extends ApplicationMetaModelPlugin {
     Collection<MethodMetaModel> methods = controller.getMethods();
     Writer writer = null;
     try {
-      JavaFileObject file = env.createSourceFile(fqn + "_", origin);
+
+      // The mapped bean parameters bound by a generated binder
+      LinkedHashMap<ElementHandle.Class, TypeElement> beans = new LinkedHashMap<ElementHandle.Class, TypeElement>();
+      for (MethodMetaModel method : methods) {
+        for (ParameterMetaModel parameter : method.getParameters()) {
+          if (parameter instanceof PhaseParameterMetaModel) {
+            PhaseParameterMetaModel phaseParameter = (PhaseParameterMetaModel)parameter;
+            ElementHandle.Class type = phaseParameter.getType();
+            if (phaseParameter.getCardinality() == Cardinality.SINGLE && !beans.containsKey(type)) {
+              TypeElement typeElt = env.get(type);
+              if (typeElt != null && typeElt.getAnnotation(Mapped.class) != null && isBindable(typeElt)) {
+                beans.put(type, typeElt);
+              }
+            }
+          }
+        }
+      }
+
+      // The beans are originating elements so the companion is regenerated when they change
+      ArrayList<Element> origins = new ArrayList<Element>();
+      origins.add(origin);
+      origins.addAll(beans.values());
+      JavaFileObject file = env.createSourceFile(fqn + "_", origins.toArray(new Element[origins.size()]));
       writer = file.openWriter();
 
       //
@@ -244,11 +291,21 @@ public class ControllerMetaModelPlugin extends ApplicationMetaModelPlugin {
       writer.append("import ").append(Generated.class.getCanonicalName()).append(";\n");
       writer.append("import ").append(Cardinality.class.getCanonicalName()).append(";\n");
       writer.append("import ").append(Request.class.getCanonicalName()).append(";\n");
+      writer.append("import ").append(BeanBinder.class.getCanonicalName()).append(";\n");
+      writer.append("import ").append(Invoker.class.getCanonicalName()).append(";\n");
 
       // Open class
       writer.append("@Generated(value={})\n");
       writer.append("public class ").append(fqn.getIdentifier()).append("_ {\n");
 
+      // Binders of the mapped bean parameters
+      HashMap<ElementHandle.Class, String> binders = new HashMap<ElementHandle.Class, String>();
+      for (Map.Entry<ElementHandle.Class, TypeElement> bean : beans.entrySet()) {
+        String binderRef = "binder_" + binders.size();
+        emitBinder(env, bean.getValue(), binderRef, writer);
+        binders.put(bean.getKey(), binderRef);
+      }
+
       //
       int index = 0;
       for (MethodMetaModel method : methods) {
@@ -294,6 +351,9 @@ public class ControllerMetaModelPlugin extends ApplicationMetaModelPlugin {
             } else {
               writer.append("null");
             }
+            if (invocationParameter.getCardinality() == Cardinality.SINGLE && binders.containsKey(invocationParameter.getType())) {
+              writer.append(',').append(binders.get(invocationParameter.getType()));
+            }
             writer.append(')');
           } else {
             writer.append("new ").
@@ -304,6 +364,11 @@ public class ControllerMetaModelPlugin extends ApplicationMetaModelPlugin {
           }
         }
         writer.append(')');
+        ExecutableElement methodElt = env.get(method.getHandle());
+        if (isInvokable(methodElt)) {
+          writer.append(',');
+          emitInvoker(fqn, methodElt, method, writer);
+        }
         writer.append(");\n");
 
         //
@@ -352,7 +417,7 @@ public class ControllerMetaModelPlugin extends ApplicationMetaModelPlugin {
 
       //
       writer.append("public static final ").append(CONTROLLER_DESCRIPTOR).append(" DESCRIPTOR = new ").append(CONTROLLER_DESCRIPTOR).append("(");
-      writer.append(fqn.getIdentifier()).append(".class,Arrays.<").append(METHOD_DESCRIPTOR).append("<?>>asList(");
+      writer.append(fqn.getIdentifier()).append(".class,").append(Boolean.toString(controller.singleton)).append(",Arrays.<").append(METHOD_DESCRIPTOR).append("<?>>asList(");
       for (int j = 0;j < methods.size();j++) {
         if (j > 0) {
           writer.append(',');
@@ -375,4 +440,224 @@ public class ControllerMetaModelPlugin extends ApplicationMetaModelPlugin {
       Tools.safeClose(writer);
     }
   }
+
+  /**
+   * Returns true when a controller method can be called by an invoker generated in the controller companion.
+   */
+  private static boolean isInvokable(ExecutableElement methodElt) {
+    if (methodElt == null || methodElt.getModifiers().contains(Modifier.PRIVATE) || !methodElt.getTypeParameters().isEmpty()) {
+      return false;
+    }
+    for (VariableElement parameterElt : methodElt.getParameters()) {
+      if (parameterElt.asType().getKind().isPrimitive()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Emit an invoker calling directly a controller method with the arguments cast to the parameter types.
+   */
+  private static void emitInvoker(Name fqn, ExecutableElement methodElt, MethodMetaModel method, Writer writer) throws IOException {
+    boolean returns = methodElt.getReturnType().getKind() != TypeKind.VOID;
+    writer.append("new ").append(Invoker.class.getSimpleName()).append("() {");
+    writer.append("public Object invoke(Object controller, Object[] args) throws java.lang.reflect.InvocationTargetException {");
+    writer.append("try {");
+    if (returns) {
+      writer.append("return ");
+    }
+    if (methodElt.getModifiers().contains(Modifier.STATIC)) {
+      writer.append(fqn);
+    } else {
+      writer.append("((").append(fqn).append(")controller)");
+    }
+    writer.append('.').append(method.getName()).append('(');
+    for (int i = 0;i < method.getParameters().size();i++) {
+      if (i > 0) {
+        writer.append(',');
+      }
+      writer.append('(').append(method.getParameters().get(i).typeLiteral).append(")args[").append(Integer.toString(i)).append(']');
+    }
+    writer.append(");");
+    if (!returns) {
+      writer.append("return null;");
+    }
+    writer.append("} catch (Throwable t) { throw new java.lang.reflect.InvocationTargetException(t); }");
+    writer.append("}}");
+  }
+
+  /**
+   * A mapped bean can be bound by a generated binder when it is a public concrete class that can be
+   * instantiated with a public no argument constructor.
+   */
+  private static boolean isBindable(TypeElement typeElt) {
+    Set<Modifier> modifiers = typeElt.getModifiers();
+    if (typeElt.getKind() != ElementKind.CLASS || !modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.ABSTRACT)) {
+      return false;
+    }
+    if (typeElt.getNestingKind() != NestingKind.TOP_LEVEL && !(typeElt.getNestingKind() == NestingKind.MEMBER && modifiers.contains(Modifier.STATIC))) {
+      return false;
+    }
+    if (typeElt.getTypeParameters().size() > 0) {
+      return false;
+    }
+    List<ExecutableElement> constructors = ElementFilter.constructorsIn(typeElt.getEnclosedElements());
+    if (constructors.isEmpty()) {
+      return true;
+    }
+    for (ExecutableElement constructor : constructors) {
+      if (constructor.getModifiers().contains(Modifier.PUBLIC) && constructor.getParameters().isEmpty()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** The string array property kind. */
+  private static final int ARRAY = 0;
+
+  /** The string property kind. */
+  private static final int STRING = 1;
+
+  /** The list property kind. */
+  private static final int LIST = 2;
+
+  /**
+   * Returns true when a setter of a property kind is preferred to the setter of another kind, the preference order
+   * is <code>String[]</code>, <code>String</code> then <code>List</code>.
+   */
+  private static boolean isPreferred(int kind, int other) {
+    return kind < other;
+  }
+
+  private static int kindOf(ProcessingContext env, TypeMirror type) {
+    String name = env.erasure(type).toString();
+    if (name.equals("java.lang.String")) {
+      return STRING;
+    } else if (name.equals("java.lang.String[]")) {
+      return ARRAY;
+    } else if (name.equals("java.util.List")) {
+      return LIST;
+    } else {
+      return -1;
+    }
+  }
+
+  private static String propertyName(String methodName) {
+    return Character.toLowerCase(methodName.charAt(3)) + methodName.substring(4);
+  }
+
+  /**
+   * Emit the binder of a mapped bean type, the properties of the bean are the public fields and the public getters
+   * and setters of type <code>String</code>, <code>String[]</code> or <code>List</code>. When a property is
+   * decoded, the setters are preferred to the fields and the <code>String[]</code> setter is preferred to the
+   * <code>String</code> setter which is preferred to the <code>List</code> setter.
+   */
+  private void emitBinder(ProcessingContext env, TypeElement typeElt, String binderRef, Writer writer) throws IOException {
+    LinkedHashMap<String, Integer> fields = new LinkedHashMap<String, Integer>();
+    LinkedHashMap<String, Integer> getters = new LinkedHashMap<String, Integer>();
+    LinkedHashMap<String, Integer> setters = new LinkedHashMap<String, Integer>();
+    HashSet<String> finalFields = new HashSet<String>();
+    for (Element member : env.getAllMembers(typeElt)) {
+      Set<Modifier> modifiers = member.getModifiers();
+      if (modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC)) {
+        String name = member.getSimpleName().toString();
+        if (member.getKind() == ElementKind.FIELD) {
+          int kind = kindOf(env, member.asType());
+          if (kind != -1) {
+            fields.put(name, kind);
+            if (modifiers.contains(Modifier.FINAL)) {
+              finalFields.add(name);
+            }
+          }
+        } else if (member.getKind() == ElementKind.METHOD && name.length() > 3) {
+          ExecutableElement methodElt = (ExecutableElement)member;
+          if (name.startsWith("get") && methodElt.getParameters().isEmpty()) {
+            int kind = kindOf(env, methodElt.getReturnType());
+            if (kind != -1) {
+              getters.put(name, kind);
+            }
+          } else if (name.startsWith("set") && methodElt.getParameters().size() == 1) {
+            int kind = kindOf(env, methodElt.getParameters().get(0).asType());
+            if (kind != -1) {
+              Integer existing = setters.get(name);
+              if (existing == null || isPreferred(kind, existing)) {
+                setters.put(name, kind);
+              }
+            }
+          }
+        }
+      }
+    }
+
+    //
+    String type = typeElt.getQualifiedName().toString();
+    writer.append("private static final ").append(BEAN_BINDER).append("<").append(type).append("> ").append(binderRef);
+    writer.append(" = new ").append(BEAN_BINDER).append("<").append(type).append(">(").append(type).append(".class) {\n");
+
+    // Decode
+    writer.append("@SuppressWarnings(\"unchecked\")\n");
+    writer.append("public ").append(type).append(" decode(String prefix, java.util.Map<String, juzu.request.RequestParameter> parameters) {\n");
+    writer.append(type).append(" bean = new ").append(type).append("();\n");
+    writer.append("juzu.request.RequestParameter parameter;\n");
+    HashSet<String> decoded = new HashSet<String>();
+    for (Map.Entry<String, Integer> setter : setters.entrySet()) {
+      String name = propertyName(setter.getKey());
+      if (decoded.add(name)) {
+        writer.append("if ((parameter = parameters.get(prefix + \"").append(name).append("\")) != null) {\n");
+        writer.append("bean.").append(setter.getKey()).append("(").append(decodeValue(setter.getValue())).append(");\n");
+        writer.append("}\n");
+      }
+    }
+    for (Map.Entry<String, Integer> field : fields.entrySet()) {
+      String name = field.getKey();
+      if (!finalFields.contains(name) && decoded.add(name)) {
+        writer.append("if ((parameter = parameters.get(prefix + \"").append(name).append("\")) != null) {\n");
+        writer.append("bean.").append(name).append(" = ").append(decodeValue(field.getValue())).append(";\n");
+        writer.append("}\n");
+      }
+    }
+    writer.append("return bean;\n");
+    writer.append("}\n");
+
+    // Encode
+    writer.append("public void encode(String prefix, ").append(type).append(" bean, juzu.impl.bridge.Parameters parameters) {\n");
+    for (Map.Entry<String, Integer> field : fields.entrySet()) {
+      emitEncode(field.getKey(), "bean." + field.getKey(), field.getValue(), writer);
+    }
+    for (Map.Entry<String, Integer> getter : getters.entrySet()) {
+      emitEncode(propertyName(getter.getKey()), "bean." + getter.getKey() + "()", getter.getValue(), writer);
+    }
+    writer.append("}\n");
+    writer.append("};\n");
+  }
+
+  private static String decodeValue(int kind) {
+    switch (kind) {
+      case STRING:
+        return "parameter.getValue()";
+      case ARRAY:
+        return "parameter.toArray()";
+      default:
+        return "(java.util.List)java.util.Arrays.asList(parameter.toArray())";
+    }
+  }
+
+  private static void emitEncode(String name, String value, int kind, Writer writer) throws IOException {
+    switch (kind) {
+      case STRING:
+        writer.append("{ String value = ").append(value).append("; ");
+        writer.append("if (value != null) { parameters.setParameter(prefix + \"").append(name).append("\", value); } }\n");
+        break;
+      case ARRAY:
+        writer.append("{ String[] value = ").append(value).append("; ");
+        writer.append("if (value != null) { parameters.setParameter(prefix + \"").append(name).append("\", value); } }\n");
+        break;
+      default:
+        writer.append("{ java.util.Collection<?> value = ").append(value).append("; ");
+        writer.append("if (value != null) { parameters.setParameter(prefix + \"").append(name).append("\", toArray(value)); } }\n");
+        break;
+    }
+  }
 }
@@ -24,6 +24,7 @@ import juzu.impl.plugin.template.metadata.TemplateDescriptor;
 import juzu.impl.template.spi.TemplateStub;
 import juzu.impl.plugin.template.metadata.TemplatesDescriptor;
 import juzu.impl.common.Path;
+import juzu.template.FragmentCache;
 
 import javax.inject.Inject;
 import java.lang.reflect.Constructor;
@@ -41,6 +42,10 @@ public class TemplatePlugin extends ApplicationPlugin {
   @Inject
   Application application;
 
+  /** . */
+  @Inject
+  FragmentCache fragmentCache;
+
   public TemplatePlugin() {
     super("template");
 
@@ -52,6 +57,10 @@ public class TemplatePlugin extends ApplicationPlugin {
     return descriptor;
   }
 
+  public FragmentCache getFragmentCache() {
+    return fragmentCache;
+  }
+
   @Override
   public PluginDescriptor init(PluginContext context) throws Exception {
     return descriptor = new TemplatesDescriptor(context.getClassLoader(), context.getConfig());
@@ -64,17 +73,7 @@ public class TemplatePlugin extends ApplicationPlugin {
   public TemplateStub resolveTemplateStub(juzu.impl.common.Path path) {
     TemplateStub stub = stubs.get(path);
     if (stub == null) {
-
-      //
-      TemplateDescriptor desc = descriptor.getTemplate(path.getCanonical());
-      //
-      try {
-        Constructor ctor = desc.getStubType().getConstructor(String.class);
-        stub = (TemplateStub)ctor.newInstance(desc.getType().getName());
-      }
-      catch (Exception e) {
-        throw new UnsupportedOperationException("Handle me gracefully", e);
-      }
+      stub = createTemplateStub(path);
 
       //
       TemplateStub phantom = stubs.putIfAbsent(path, stub);
@@ -88,4 +87,39 @@ public class TemplatePlugin extends ApplicationPlugin {
     //
     return stub;
   }
+
+  /**
+   * Update the templates recompiled in the application class loader: the stubs of the templates
+   * are replaced by new stubs initialized from the recompiled templates and the fragment cache is cleared.
+   *
+   * @param sources the updated source paths
+   */
+  public void update(Iterable<String> sources) {
+    String prefix = '/' + descriptor.getPackageName().replace('.', '/') + '/';
+    for (String source : sources) {
+      if (source.startsWith(prefix)) {
+        Path path = Path.parse(source.substring(prefix.length()));
+        if (stubs.containsKey(path)) {
+          TemplateStub stub = createTemplateStub(path);
+          stub.init(application.getClassLoader());
+          TemplateStub previous = stubs.put(path, stub);
+          if (previous != null) {
+            previous.invalidate();
+          }
+        }
+      }
+    }
+    fragmentCache.clear();
+  }
+
+  private TemplateStub createTemplateStub(Path path) {
+    TemplateDescriptor desc = descriptor.getTemplate(path.getCanonical());
+    try {
+      Constructor ctor = desc.getStubType().getConstructor(String.class);
+      return (TemplateStub)ctor.newInstance(desc.getType().getName());
+    }
+    catch (Exception e) {
+      throw new UnsupportedOperationException("Handle me gracefully", e);
+    }
+  }
 }
@@ -18,7 +18,9 @@ package juzu.impl.plugin.template.metadata;
 
 import juzu.impl.plugin.PluginDescriptor;
 import juzu.impl.inject.BeanDescriptor;
+import juzu.Scope;
 import juzu.impl.common.JSON;
+import juzu.template.FragmentCache;
 import juzu.template.Template;
 
 import java.lang.reflect.Field;
@@ -41,6 +43,9 @@ public class TemplatesDescriptor extends PluginDescriptor {
     ArrayList<BeanDescriptor> beans = new ArrayList<BeanDescriptor>();
     List<TemplateDescriptor> templates = new ArrayList<TemplateDescriptor>();
 
+    // The fragment cache
+    beans.add(BeanDescriptor.createFromBean(FragmentCache.class, Scope.SINGLETON, null));
+
     // Load templates
     for (String fqn : config.getList("templates", String.class)) {
       Class<?> clazz = loader.loadClass(fqn);
@@ -61,6 +61,10 @@ public class TemplateMetaModel extends MetaModelObject {
   public static final MessageCode CONTROLLER_NOT_RESOLVED = new MessageCode("CONTROLLER_NOT_RESOLVED",
       "Controller %1$s not found in template %2$s at (%3$s,%4$s)");
 
+  /** . */
+  public static final MessageCode CACHE_ILLEGAL_TTL = new MessageCode("CACHE_ILLEGAL_TTL",
+      "The cache ttl %1$s is not a number of seconds in template %2$s at (%3$s,%4$s)");
+
   /** . */
   public final static Key<TemplateMetaModel> KEY = Key.of(TemplateMetaModel.class);
 
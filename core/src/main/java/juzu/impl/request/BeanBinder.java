@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.request;
+
+import juzu.impl.bridge.Parameters;
+import juzu.request.RequestParameter;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Encodes a {@link juzu.Mapped} bean to parameters and decodes it from parameters. A binder is generated at
+ * compilation time for the mapped bean parameters of a controller method, it accesses the bean properties
+ * directly.
+ *
+ * @param <T> the bean type
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+public abstract class BeanBinder<T> {
+
+  /** . */
+  private final Class<T> type;
+
+  protected BeanBinder(Class<T> type) {
+    this.type = type;
+  }
+
+  public Class<T> getType() {
+    return type;
+  }
+
+  /**
+   * Create a bean from parameters.
+   *
+   * @param prefix the prefix of the parameter names
+   * @param parameters the parameters
+   * @return the bean
+   */
+  public abstract T decode(String prefix, Map<String, RequestParameter> parameters);
+
+  /**
+   * Encode the non null properties of a bean as parameters.
+   *
+   * @param prefix the prefix of the parameter names
+   * @param bean the bean
+   * @param parameters the parameters
+   */
+  public abstract void encode(String prefix, T bean, Parameters parameters);
+
+  /**
+   * Encode an object, the object must be an instance of the bean type.
+   *
+   * @param prefix the prefix of the parameter names
+   * @param bean the bean
+   * @param parameters the parameters
+   * @throws ClassCastException if the bean is not an instance of the bean type
+   */
+  public final void encodeObject(String prefix, Object bean, Parameters parameters) throws ClassCastException {
+    encode(prefix, type.cast(bean), parameters);
+  }
+
+  /**
+   * Converts a collection of values to an array of strings.
+   *
+   * @param values the values
+   * @return the string array
+   */
+  protected static String[] toArray(Collection<?> values) {
+    String[] array = new String[values.size()];
+    Iterator<?> iterator = values.iterator();
+    for (int i = 0;i < array.length;i++) {
+      array[i] = String.valueOf(iterator.next());
+    }
+    return array;
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.request;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Invokes a controller method. An invoker is generated at compilation time in the controller companion, it calls
+ * the controller method directly with arguments cast to the method parameter types. The reflective invoker is used
+ * for the methods that cannot be called from the companion.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+public abstract class Invoker {
+
+  /**
+   * Returns an invoker using reflection.
+   *
+   * @param method the method to invoke
+   * @return the invoker
+   * @throws NullPointerException if the method is null
+   */
+  public static Invoker reflect(final java.lang.reflect.Method method) throws NullPointerException {
+    if (method == null) {
+      throw new NullPointerException("No null method accepted");
+    }
+    return new Invoker() {
+      @Override
+      public Object invoke(Object controller, Object[] args) throws InvocationTargetException {
+        try {
+          return method.invoke(controller, args);
+        }
+        catch (IllegalAccessException e) {
+          throw new UnsupportedOperationException("hanle me gracefully", e);
+        }
+      }
+    };
+  }
+
+  /**
+   * Invoke the method on a controller.
+   *
+   * @param controller the controller, ignored for a static method
+   * @param args the arguments
+   * @return the value returned by the method or null when the method returns nothing
+   * @throws InvocationTargetException wraps the throwable thrown by the method
+   */
+  public abstract Object invoke(Object controller, Object[] args) throws InvocationTargetException;
+
+}
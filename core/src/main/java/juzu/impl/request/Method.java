@@ -70,12 +70,25 @@ public final class Method<P extends Phase> {
   /** . */
   private final MethodHandle handle;
 
+  /** . */
+  private final Invoker invoker;
+
   public Method(
       String id,
       P phase,
       Class<?> type,
       java.lang.reflect.Method method,
       List<ControlParameter> parameterList) {
+    this(id, phase, type, method, parameterList, null);
+  }
+
+  public Method(
+      String id,
+      P phase,
+      Class<?> type,
+      java.lang.reflect.Method method,
+      List<ControlParameter> parameterList,
+      Invoker invoker) {
 
     // Fix parameter list
     Class<?>[] parameterTypes = method.getParameterTypes();
@@ -140,6 +153,7 @@ public final class Method<P extends Phase> {
     this.parameterMap = Collections.unmodifiableMap(argumentMap);
     this.requiresPrefix = requiresPrefix;
     this.handle = new MethodHandle(method);
+    this.invoker = invoker != null ? invoker : Invoker.reflect(method);
   }
 
   public MethodHandle getHandle() {
@@ -162,6 +176,15 @@ public final class Method<P extends Phase> {
     return method;
   }
 
+  /**
+   * Returns the invoker of this method.
+   *
+   * @return the invoker
+   */
+  public Invoker getInvoker() {
+    return invoker;
+  }
+
   public String getName() {
     return method.getName();
   }
@@ -188,7 +211,11 @@ public final class Method<P extends Phase> {
           String name = phaseParameter.getMappedName();
           switch (phaseParameter.getCardinality()) {
             case SINGLE: {
-              if (phaseParameter.getType().isAnnotationPresent(Mapped.class)) {
+              BeanBinder<?> binder = phaseParameter.getBinder();
+              if (binder != null) {
+                binder.encodeObject(requiresPrefix ? name + "." : "", value, parameterMap);
+              }
+              else if (phaseParameter.getType().isAnnotationPresent(Mapped.class)) {
                 Map<String, String[]> p = buildBeanParameter(name, value);
                 parameterMap.setParameters(p);
               }
@@ -279,7 +306,12 @@ public final class Method<P extends Phase> {
         PhaseParameter phaseParameter = (PhaseParameter)controlParam;
         Class<?> type = phaseParameter.getType();
         Object[] values;
-        if (type.isAnnotationPresent(Mapped.class)) {
+        BeanBinder<?> binder = phaseParameter.getBinder();
+        if (binder != null) {
+          String prefix = requiresPrefix ? phaseParameter.getMappedName() + "." : "";
+          values = new Object[]{binder.decode(prefix, parameterMap)};
+        }
+        else if (type.isAnnotationPresent(Mapped.class)) {
           // build bean parameter
           Object o = null;
           try {
@@ -28,7 +28,14 @@ public class PhaseParameter extends ControlParameter {
   /** . */
   private final String alias;
 
+  /** The binder of a mapped bean parameter. */
+  private final BeanBinder<?> binder;
+
   public PhaseParameter(String name, Class<?> type, Cardinality cardinality, String alias) throws NullPointerException {
+    this(name, type, cardinality, alias, null);
+  }
+
+  public PhaseParameter(String name, Class<?> type, Cardinality cardinality, String alias, BeanBinder<?> binder) throws NullPointerException {
     super(name, type);
 
     //
@@ -39,6 +46,7 @@ public class PhaseParameter extends ControlParameter {
     //
     this.cardinality = cardinality;
     this.alias = alias;
+    this.binder = binder;
   }
 
   /**
@@ -54,6 +62,15 @@ public class PhaseParameter extends ControlParameter {
     return alias;
   }
 
+  /**
+   * Returns the binder of a mapped bean parameter or null when the parameter has no binder.
+   *
+   * @return the binder
+   */
+  public BeanBinder<?> getBinder() {
+    return binder;
+  }
+
   /**
    * Returns the parameter cardinality.
    *
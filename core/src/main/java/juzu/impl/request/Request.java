@@ -52,7 +52,6 @@ import juzu.request.UserContext;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
@@ -232,12 +231,12 @@ public class Request implements ScopingContext {
       }
 
       //
-      List<RequestFilter> filters = Tools.list(controllerPlugin.getInjectionContext().resolveInstances(RequestFilter.class));
+      RequestFilter[] filters = controllerPlugin.getRequestFilters();
 
       //
-      if (index >= 0 && index < filters.size()) {
+      if (index >= 0 && index < filters.length) {
 
-        RequestFilter plugin = filters.get(index);
+        RequestFilter plugin = filters[index];
         try {
           index++;
           plugin.invoke(this);
@@ -246,7 +245,7 @@ public class Request implements ScopingContext {
           index--;
         }
       }
-      else if (index == filters.size()) {
+      else if (index == filters.length) {
 
         // Dispatch request
         Response response = dispatch(this, controllerPlugin.getInjectionContext());
@@ -267,7 +266,7 @@ public class Request implements ScopingContext {
   }
 
   public Executor getExecutor() {
-    final Iterable<ExecutionFilter> filters = controllerPlugin.getInjectionContext().resolveInstances(ExecutionFilter.class);
+    final ExecutionFilter[] filters = controllerPlugin.getExecutionFilters();
     return new Executor() {
       public void execute(Runnable command) {
         for (ExecutionFilter filter : filters) {
@@ -381,16 +380,17 @@ public class Request implements ScopingContext {
     //
     Class<?> type = context.getMethod().getType();
 
-    //
-    controllerLifeCycle = manager.get(type);
+    // A singleton controller is shared and bypasses the bean life cycle
+    boolean singleton = controllerPlugin.getDescriptor().isSingleton(type);
+    controllerLifeCycle = singleton ? null : manager.get(type);
 
     //
-    if (controllerLifeCycle != null) {
+    if (singleton || controllerLifeCycle != null) {
 
       // Get controller
       Object controller;
       try {
-        controller = controllerLifeCycle.get();
+        controller = singleton ? controllerPlugin.getSingleton(type) : controllerLifeCycle.get();
       }
       catch (InvocationTargetException e) {
         context.setResponse(Response.error(Tools.safeCause(e)));
@@ -414,7 +414,7 @@ public class Request implements ScopingContext {
         if (context.getResponse() == null) {
           // We invoke method on controller
           try {
-            Object ret = context.getMethod().getMethod().invoke(controller, args);
+            Object ret = context.getMethod().getInvoker().invoke(controller, args);
             if (ret instanceof Response) {
               // We should check that it matches....
               // btw we should try to enforce matching during compilation phase
@@ -427,9 +427,6 @@ public class Request implements ScopingContext {
           catch (InvocationTargetException e) {
              context.setResponse(Response.error(e.getCause()));
           }
-          catch (IllegalAccessException e) {
-            throw new UnsupportedOperationException("hanle me gracefully", e);
-          }
 
           // End request callback
           if (controller instanceof juzu.request.RequestLifeCycle) {
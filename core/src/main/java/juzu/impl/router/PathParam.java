@@ -50,6 +50,12 @@ public class PathParam {
   /** . */
   final String[] templateSuffixes;
 
+  /** The cache of the values resolved by {@link #resolve(String)}. */
+  private final ValueCache resolved = new ValueCache(64);
+
+  /** The cache of the values encoded for rendering a route. */
+  final ValueCache encoded = new ValueCache(64);
+
   private PathParam(
       String name,
       boolean preservePath,
@@ -79,6 +85,28 @@ public class PathParam {
     return name;
   }
 
+  /**
+   * Resolve a parameter value against the matching regexes of this parameter, the resolution is cached so a value
+   * is validated once.
+   *
+   * @param value the value to resolve
+   * @return the resolved value or null when the value does not match
+   */
+  String resolve(String value) {
+    String resolved = this.resolved.get(value);
+    if (resolved == null) {
+      for (int j = 0;j < matchingRegex.length;j++) {
+        RERef renderingRegex = matchingRegex[j];
+        if (renderingRegex.re.matcher().matches(value)) {
+          resolved = templatePrefixes[j] + value + templateSuffixes[j];
+          this.resolved.put(value, resolved);
+          break;
+        }
+      }
+    }
+    return resolved;
+  }
+
   @Override
   public String toString() {
     return "PathParam[name=" + name + ",preservePath=" + preservePath + ",pattern=" + Arrays.asList(matchingRegex) + "]";
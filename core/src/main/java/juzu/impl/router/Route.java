@@ -132,10 +132,10 @@ public class Route {
   private static final Route[] EMPTY_ROUTE_ARRAY = new Route[0];
 
   /** . */
-  private final Router router;
+  final Router router;
 
   /** . */
-  private final int terminal;
+  final int terminal;
 
   /** . */
   private Route parent;
@@ -144,7 +144,16 @@ public class Route {
   private List<Route> path;
 
   /** . */
-  private Route[] children;
+  Route[] children;
+
+  /** The params of this route and its ancestors, lazily computed. */
+  private volatile PathParam[] pathParams;
+
+  /** The names of the params of this route and its ancestors, lazily computed. */
+  private volatile Set<String> pathParamNames;
+
+  /** The rendered path when this route and its ancestors have no params, lazily computed. */
+  private volatile String staticPath;
 
   Route(Router router, int terminal) {
 
@@ -227,6 +236,41 @@ public class Route {
         count += value.length();
 
         // Write value
+        writer.append(encode(def, value));
+
+        //
+        i++;
+      }
+      writer.append(pr.encodedChunks[i]);
+      count += pr.chunks[i].length();
+      if (count > 0) {
+        endWithSlash = false;
+      }
+    }
+    else {
+      if (!hasChildren) {
+        writer.append('/');
+        endWithSlash = true;
+      }
+    }
+
+    //
+    return endWithSlash;
+  }
+
+  /**
+   * Encode a value of a parameter for rendering it in a path, the encoded values are cached by the parameter.
+   *
+   * @param def the parameter
+   * @param value the value
+   * @return the encoded value
+   */
+  private String encode(PathParam def, String value) {
+    String encoded = def.encoded.get(value);
+    if (encoded == null) {
+      StringBuilder sb = new StringBuilder(value.length());
+      UriBuilder writer = new UriBuilder(sb);
+      try {
         for (int len = value.length(), j = 0;j < len;j++) {
           char c = value.charAt(j);
           if (c == router.separatorEscape) {
@@ -246,25 +290,68 @@ public class Route {
             writer.appendSegment(c);
           }
         }
-
-        //
-        i++;
       }
-      writer.append(pr.encodedChunks[i]);
-      count += pr.chunks[i].length();
-      if (count > 0) {
-        endWithSlash = false;
+      catch (IOException e) {
+        throw new AssertionError(e);
       }
+      def.encoded.put(value, encoded = sb.toString());
     }
-    else {
-      if (!hasChildren) {
-        writer.append('/');
-        endWithSlash = true;
+    return encoded;
+  }
+
+  final void render(RouteMatch match, UriBuilder writer) throws IOException {
+    if (getPathParams().length == 0) {
+      String path = staticPath;
+      if (path == null) {
+        StringBuilder sb = new StringBuilder();
+        renderPath(match, new UriBuilder(sb), false);
+        staticPath = path = sb.toString();
       }
+      writer.append(path);
+    } else {
+      renderPath(match, writer, false);
     }
+  }
 
-    //
-    return endWithSlash;
+  /**
+   * Returns the params of this route and its ancestors.
+   *
+   * @return the params
+   */
+  private PathParam[] getPathParams() {
+    PathParam[] params = pathParams;
+    if (params == null) {
+      ArrayList<PathParam> list = new ArrayList<PathParam>();
+      for (Route route : path) {
+        route.findParams(list);
+      }
+      pathParams = params = list.toArray(new PathParam[list.size()]);
+    }
+    return params;
+  }
+
+  /**
+   * Returns the names of the params of this route and its ancestors, the parameters having one of these names
+   * are rendered in the path of the route.
+   *
+   * @return the param names
+   */
+  public final Set<String> getPathParamNames() {
+    Set<String> names = pathParamNames;
+    if (names == null) {
+      PathParam[] params = getPathParams();
+      if (params.length == 0) {
+        names = Collections.emptySet();
+      } else {
+        names = new HashSet<String>(params.length);
+        for (PathParam param : params) {
+          names.add(param.name);
+        }
+        names = Collections.unmodifiableSet(names);
+      }
+      pathParamNames = names;
+    }
+    return names;
   }
 
   public final RouteMatch matches(Map<String, String> parameters) {
@@ -273,48 +360,19 @@ public class Route {
     HashMap<String, String> unmatched = new HashMap<String, String>(parameters);
     HashMap<PathParam, String> matched = new HashMap<PathParam, String>();
 
-    //
-    if (_matches(unmatched, matched)) {
-      return new RouteMatch(this, unmatched, matched);
-    } else {
-      return null;
-    }
-  }
-
-  private boolean _matches(HashMap<String, String> context, HashMap<PathParam, String> matched) {
-    return (parent == null || parent._matches(context, matched)) && matches(context, matched);
-  }
-
-  private boolean matches(HashMap<String, String> context, HashMap<PathParam, String> abc) {
-
     // Match any pattern parameter
-    if (this instanceof PatternRoute) {
-      PatternRoute prt = (PatternRoute)this;
-      for (int i = 0;i < prt.params.length;i++) {
-        PathParam param = prt.params[i];
-        String s = context.get(param.name);
-        String matched = null;
-        if (s != null) {
-          for (int j = 0;j < param.matchingRegex.length;j++) {
-            RERef renderingRegex = param.matchingRegex[j];
-            if (renderingRegex.re.matcher().matches(s)) {
-              matched = param.templatePrefixes[j] + s + param.templateSuffixes[j];
-              break;
-            }
-          }
-        }
-        if (matched != null) {
-          context.remove(param.name);
-          abc.put(param, matched);
-        }
-        else {
-          return false;
-        }
+    for (PathParam param : getPathParams()) {
+      String s = unmatched.remove(param.name);
+      String resolved = s != null ? param.resolve(s) : null;
+      if (resolved != null) {
+        matched.put(param, resolved);
+      } else {
+        return null;
       }
     }
 
     //
-    return true;
+    return new RouteMatch(this, unmatched, matched);
   }
 
   public final RouteMatch route(String path) {
@@ -344,6 +402,16 @@ public class Route {
     return new RouteMatcher(this, Path.parse(path), requestParams);
   }
 
+  /**
+   * Compile this route and its descendants into a {@link RouteTrie} that routes requests with the same
+   * algorithm than {@link #matcher(String, java.util.Map)}.
+   *
+   * @return the compiled route trie
+   */
+  public final RouteTrie compile() {
+    return new RouteTrie(this);
+  }
+
   static class RouteFrame {
 
     /** Defines the status of a frame. */
@@ -678,6 +746,8 @@ public class Route {
       //
       route.parent = this;
       route.path = Collections.unmodifiableList(path);
+      route.pathParams = null;
+      route.staticPath = null;
     }
     else {
       throw new IllegalArgumentException("Only accept segment or pattern routes");
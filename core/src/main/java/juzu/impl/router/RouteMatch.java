@@ -61,7 +61,7 @@ public class RouteMatch {
   }
 
   public void render(UriBuilder writer) throws IOException {
-    route.renderPath(this, writer, false);
+    route.render(this, writer);
   }
 
   public String render() {
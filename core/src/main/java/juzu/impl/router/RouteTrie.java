@@ -0,0 +1,564 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.router;
+
+import juzu.impl.router.regex.RE;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A compiled view of a route tree. The tree is flattened into arrays and the segment routes of each route are
+ * merged into a hash table keyed by segment name, so routing a path only considers the children that can match
+ * the next path segment instead of testing every child. The algorithm is the same than the
+ * {@link Route#matcher(String, java.util.Map)} one and yields the same matches in the same order, however it walks
+ * the tree with a stack of indexes and does not allocate objects when it descends into a route.
+ *
+ * The trie is a snapshot of the route tree when it was compiled, routes appended afterwards are not visible.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+public class RouteTrie {
+
+  /** . */
+  private static final int KIND_EMPTY = 0;
+
+  /** . */
+  private static final int KIND_SEGMENT = 1;
+
+  /** . */
+  private static final int KIND_PATTERN = 2;
+
+  /** . */
+  private static final int KIND_OTHER = 3;
+
+  /** The routes by node index, the root is at index 0. */
+  private final Route[] routes;
+
+  /** The kind of each node. */
+  private final int[] kinds;
+
+  /** The children of a node that are not segment routes, used when the next segment matches no segment route. */
+  private final int[][] fallbacks;
+
+  /** The segment table of a node or null when a node has no segment child. */
+  private final SegmentTable[] segments;
+
+  /** The max depth of the tree. */
+  private final int depth;
+
+  /** The separator escape char. */
+  private final char separatorEscape;
+
+  /**
+   * The per thread state used by {@link #route(String)}, the state does not reference the trie otherwise the
+   * state value would retain its thread local key and the trie would never be reclaimed from the pooled threads.
+   */
+  private final ThreadLocal<State> states = new ThreadLocal<State>() {
+    @Override
+    protected State initialValue() {
+      return new State(routes.length, depth);
+    }
+  };
+
+  RouteTrie(Route root) {
+
+    // Index the routes
+    ArrayList<Route> routes = new ArrayList<Route>();
+    IdentityHashMap<Route, Integer> indexes = new IdentityHashMap<Route, Integer>();
+    int depth = index(root, routes, indexes);
+
+    //
+    int size = routes.size();
+    int[] kinds = new int[size];
+    int[][] fallbacks = new int[size][];
+    SegmentTable[] segments = new SegmentTable[size];
+    for (int i = 0;i < size;i++) {
+      Route route = routes.get(i);
+      if (route instanceof EmptyRoute) {
+        kinds[i] = KIND_EMPTY;
+      } else if (route instanceof SegmentRoute) {
+        kinds[i] = KIND_SEGMENT;
+      } else if (route instanceof PatternRoute) {
+        kinds[i] = KIND_PATTERN;
+      } else {
+        kinds[i] = KIND_OTHER;
+      }
+
+      // The candidates for a segment name are the segment routes having this name plus the other routes
+      // keeping the declaration order so the priority between routes is retained
+      LinkedHashMap<String, List<Integer>> bySegment = new LinkedHashMap<String, List<Integer>>();
+      ArrayList<Integer> fallback = new ArrayList<Integer>();
+      for (Route child : route.children) {
+        if (child instanceof SegmentRoute) {
+          String name = ((SegmentRoute)child).name;
+          if (!bySegment.containsKey(name)) {
+            List<Integer> candidates = new ArrayList<Integer>();
+            for (Route sibling : route.children) {
+              if (!(sibling instanceof SegmentRoute) || ((SegmentRoute)sibling).name.equals(name)) {
+                candidates.add(indexes.get(sibling));
+              }
+            }
+            bySegment.put(name, candidates);
+          }
+        } else {
+          fallback.add(indexes.get(child));
+        }
+      }
+      fallbacks[i] = toArray(fallback);
+      if (bySegment.size() > 0) {
+        segments[i] = new SegmentTable(bySegment);
+      }
+    }
+
+    //
+    this.routes = routes.toArray(new Route[size]);
+    this.kinds = kinds;
+    this.fallbacks = fallbacks;
+    this.segments = segments;
+    this.depth = depth;
+    this.separatorEscape = root.router.separatorEscape;
+  }
+
+  private static int index(Route route, List<Route> routes, Map<Route, Integer> indexes) {
+    indexes.put(route, routes.size());
+    routes.add(route);
+    int depth = 0;
+    for (Route child : route.children) {
+      depth = Math.max(depth, index(child, routes, indexes));
+    }
+    return 1 + depth;
+  }
+
+  private static int[] toArray(List<Integer> list) {
+    int[] array = new int[list.size()];
+    for (int i = 0;i < array.length;i++) {
+      array[i] = list.get(i);
+    }
+    return array;
+  }
+
+  /**
+   * Route the path and returns the first match.
+   *
+   * @param path the path
+   * @return the first match or null when the path cannot be routed
+   */
+  public RouteMatch route(String path) {
+    State state = states.get();
+    reset(state, path);
+    try {
+      return find(state) ? match(state) : null;
+    }
+    finally {
+      state.clear();
+    }
+  }
+
+  /**
+   * Create a route matcher for the a request.
+   *
+   * @param path          the path
+   * @param requestParams the query parameters
+   * @return the route matcher
+   */
+  public Iterator<RouteMatch> matcher(String path, Map<String, String[]> requestParams) {
+    final State state = new State(routes.length, depth);
+    reset(state, path);
+    return new Iterator<RouteMatch>() {
+
+      /** . */
+      private RouteMatch next;
+
+      public boolean hasNext() {
+        if (next == null && state.top >= 0 && find(state)) {
+          next = match(state);
+        }
+        return next != null;
+      }
+
+      public RouteMatch next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        RouteMatch match = next;
+        next = null;
+        return match;
+      }
+
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  /**
+   * Resume the search until the next match.
+   *
+   * @param state the state
+   * @return true when the state stack top is a match
+   */
+  private boolean find(State state) {
+    int top = state.top;
+    String value = state.value;
+    int length = value.length();
+
+    // Resume from the parent of the last match
+    if (state.matched) {
+      state.matches[top--] = null;
+      state.matched = false;
+    }
+
+    //
+    while (top >= 0) {
+      int[] candidates = state.candidates[top];
+      int index = state.next[top];
+      int offset = state.offsets[top];
+      if (index < candidates.length) {
+        state.next[top] = index + 1;
+        int child = candidates[index];
+        switch (kinds[child]) {
+          case KIND_EMPTY:
+            push(state, ++top, child, offset);
+            break;
+          case KIND_SEGMENT:
+            // The segment table guarantees the segment name is matched
+            int end = state.segmentEnds[top];
+            push(state, ++top, child, end);
+            break;
+          case KIND_PATTERN:
+            // Skip one '/' like the route matcher does
+            int start = offset;
+            if (start < length && value.charAt(start) == '/') {
+              start++;
+            }
+            RE.Matcher matcher = state.matchers[child];
+            if (matcher == null) {
+              matcher = state.matchers[child] = ((PatternRoute)routes[child]).pattern.re.matcher();
+            }
+            RE.Match[] found = matcher.find(state.suffix.reset(value, start));
+            if (found.length > 0) {
+              push(state, ++top, child, start + found[0].getEnd());
+              state.matches[top] = found;
+              state.starts[top] = start;
+            }
+            break;
+          default:
+            throw new AssertionError();
+        }
+      }
+      else {
+
+        // Find the index of the first char that is not a '/'
+        int pos = offset;
+        while (pos < length && value.charAt(pos) == '/') {
+          pos++;
+        }
+
+        // Are we done ?
+        boolean matched;
+        if (pos == length) {
+          int node = state.nodes[top];
+          if (kinds[node] == KIND_EMPTY) {
+            matched = true;
+          } else {
+            switch (routes[node].terminal) {
+              case Route.TERMINATION_NONE:
+                matched = false;
+                break;
+              case Route.TERMINATION_SEGMENT:
+                matched = pos == offset;
+                break;
+              case Route.TERMINATION_SEPARATOR:
+                matched = pos != offset;
+                break;
+              case Route.TERMINATION_ANY:
+                matched = true;
+                break;
+              default:
+                throw new AssertionError();
+            }
+          }
+        } else {
+          matched = false;
+        }
+
+        //
+        if (matched) {
+          state.top = top;
+          state.matched = true;
+          return true;
+        } else {
+          state.matches[top--] = null;
+        }
+      }
+    }
+
+    //
+    state.top = -1;
+    return false;
+  }
+
+  private void push(State state, int top, int node, int offset) {
+    int[] candidates = fallbacks[node];
+    SegmentTable table = segments[node];
+    if (table != null) {
+      String value = state.value;
+      int length = value.length();
+      int from = offset;
+      while (from < length && value.charAt(from) == '/') {
+        from++;
+      }
+      int to = value.indexOf('/', from);
+      if (to == -1) {
+        to = length;
+      }
+      int[] found = table.get(value, from, to);
+      if (found != null) {
+        candidates = found;
+      }
+      state.segmentEnds[top] = to;
+    }
+    state.nodes[top] = node;
+    state.offsets[top] = offset;
+    state.next[top] = 0;
+    state.candidates[top] = candidates;
+  }
+
+  private RouteMatch match(State state) {
+    Map<PathParam, String> parameters = null;
+    for (int i = state.top;i >= 0;i--) {
+      RE.Match[] found = state.matches[i];
+      if (found != null) {
+        PatternRoute route = (PatternRoute)routes[state.nodes[i]];
+        int start = state.starts[i];
+        int index = 1;
+        for (PathParam param : route.params) {
+          for (int j = 0;j < param.matchingRegex.length;j++) {
+            RE.Match match = found[index + j];
+            if (match.getEnd() != -1) {
+              String value;
+              if (!param.preservePath) {
+                StringBuilder sb = new StringBuilder();
+                for (int from = start + match.getStart(), to = start + match.getEnd();from < to;from++) {
+                  char c = state.value.charAt(from);
+                  if (c == separatorEscape && !state.path.isEscaped(from)) {
+                    c = '/';
+                  }
+                  sb.append(c);
+                }
+                value = sb.toString();
+              }
+              else {
+                value = match.getValue();
+              }
+              if (parameters == null) {
+                parameters = new HashMap<PathParam, String>();
+              }
+              parameters.put(param, value);
+              break;
+            }
+          }
+          index += param.matchingRegex.length;
+        }
+      }
+    }
+    Route route = routes[state.nodes[state.top]];
+    return new RouteMatch(route, parameters != null ? parameters : Collections.<PathParam, String>emptyMap());
+  }
+
+  private void reset(State state, String path) {
+    state.reset(path);
+    push(state, 0, 0, 0);
+  }
+
+  /**
+   * The state of a search, the arrays are used as a stack of frames indexed by depth.
+   */
+  private static class State {
+
+    /** . */
+    private final RE.Matcher[] matchers;
+
+    /** . */
+    private final int[] nodes;
+
+    /** . */
+    private final int[] offsets;
+
+    /** . */
+    private final int[] next;
+
+    /** . */
+    private final int[] segmentEnds;
+
+    /** . */
+    private final int[] starts;
+
+    /** . */
+    private final int[][] candidates;
+
+    /** . */
+    private final RE.Match[][] matches;
+
+    /** . */
+    private final Suffix suffix = new Suffix();
+
+    /** . */
+    private Path path;
+
+    /** . */
+    private String value;
+
+    /** . */
+    private int top;
+
+    /** . */
+    private boolean matched;
+
+    private State(int size, int depth) {
+      this.matchers = new RE.Matcher[size];
+      this.nodes = new int[depth];
+      this.offsets = new int[depth];
+      this.next = new int[depth];
+      this.segmentEnds = new int[depth];
+      this.starts = new int[depth];
+      this.candidates = new int[depth][];
+      this.matches = new RE.Match[depth][];
+    }
+
+    void reset(String s) {
+      if (!s.startsWith("/")) {
+        s = "/" + s;
+      }
+      path = Path.parse(s);
+      value = path.getValue();
+      matched = false;
+      top = 0;
+    }
+
+    void clear() {
+      for (int i = 0;i < matches.length;i++) {
+        matches[i] = null;
+      }
+      suffix.reset(null, 0);
+      path = null;
+      value = null;
+    }
+  }
+
+  /**
+   * A view of the end of a string, it avoids to create a substring when a pattern is evaluated.
+   */
+  private static class Suffix implements CharSequence {
+
+    /** . */
+    private String value;
+
+    /** . */
+    private int offset;
+
+    Suffix reset(String value, int offset) {
+      this.value = value;
+      this.offset = offset;
+      return this;
+    }
+
+    public int length() {
+      return value.length() - offset;
+    }
+
+    public char charAt(int index) {
+      return value.charAt(offset + index);
+    }
+
+    public CharSequence subSequence(int start, int end) {
+      return value.substring(offset + start, offset + end);
+    }
+
+    @Override
+    public String toString() {
+      return value.substring(offset);
+    }
+  }
+
+  /**
+   * An open addressing hash table of segment names that can be queried with a region of a string.
+   */
+  private static class SegmentTable {
+
+    /** . */
+    private final String[] keys;
+
+    /** . */
+    private final int[][] values;
+
+    /** . */
+    private final int mask;
+
+    private SegmentTable(Map<String, List<Integer>> entries) {
+      int capacity = 2;
+      while (capacity < entries.size() * 2) {
+        capacity <<= 1;
+      }
+      String[] keys = new String[capacity];
+      int[][] values = new int[capacity][];
+      int mask = capacity - 1;
+      for (Map.Entry<String, List<Integer>> entry : entries.entrySet()) {
+        String key = entry.getKey();
+        int index = hash(key, 0, key.length()) & mask;
+        while (keys[index] != null) {
+          index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = toArray(entry.getValue());
+      }
+      this.keys = keys;
+      this.values = values;
+      this.mask = mask;
+    }
+
+    int[] get(String s, int from, int to) {
+      int length = to - from;
+      int index = hash(s, from, to) & mask;
+      while (true) {
+        String key = keys[index];
+        if (key == null) {
+          return null;
+        } else if (key.length() == length && key.regionMatches(0, s, from, length)) {
+          return values[index];
+        }
+        index = (index + 1) & mask;
+      }
+    }
+
+    private static int hash(String s, int from, int to) {
+      int h = 0;
+      for (int i = from;i < to;i++) {
+        h = 31 * h + s.charAt(i);
+      }
+      return h ^ (h >>> 16);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.router;
+
+/**
+ * A fixed size direct mapped cache of string values: a value is stored in the slot determined by the hash of its
+ * key and replaces the entry previously stored in this slot, so the values that repeat often stay in the cache.
+ * The cache is safe for concurrent use without locking as entries are immutable.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+class ValueCache {
+
+  /** . */
+  private final Entry[] entries;
+
+  /** . */
+  private final int mask;
+
+  ValueCache(int size) {
+    if (size < 1 || (size & (size - 1)) != 0) {
+      throw new IllegalArgumentException("Cache size " + size + " must be a power of two");
+    }
+    this.entries = new Entry[size];
+    this.mask = size - 1;
+  }
+
+  String get(String key) {
+    Entry entry = entries[index(key)];
+    return entry != null && entry.key.equals(key) ? entry.value : null;
+  }
+
+  void put(String key, String value) {
+    entries[index(key)] = new Entry(key, value);
+  }
+
+  private int index(String key) {
+    int h = key.hashCode();
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+  private static class Entry {
+
+    /** . */
+    private final String key;
+
+    /** . */
+    private final String value;
+
+    private Entry(String key, String value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+}
@@ -29,11 +29,13 @@ import juzu.impl.common.Logger;
 import juzu.impl.plugin.application.Application;
 import juzu.impl.plugin.application.descriptor.ApplicationDescriptor;
 import juzu.impl.plugin.asset.AssetPlugin;
+import juzu.impl.plugin.template.TemplatePlugin;
 import juzu.impl.resource.ResourceResolver;
 
 import java.io.Closeable;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
+import java.util.Set;
 
 /**
  * The application life cycle.
@@ -78,6 +80,9 @@ public class ApplicationRuntime<P, R> implements Closeable {
   /** The last used class loader : used for checking refresh. */
   private ClassLoader classLoader;
 
+  /** The last used module revision : used for updating templates. */
+  private int revision;
+
   public ApplicationRuntime(
       Logger log,
       ModuleRuntime<?> moduleLifeCycle,
@@ -121,11 +126,27 @@ public class ApplicationRuntime<P, R> implements Closeable {
     return injectionContext.resolveInstances(beanType);
   }
 
+  /**
+   * Returns true when the application must be restarted because the module class loader changed.
+   *
+   * @return true when the application is stale
+   */
+  public boolean isStale() {
+    return application == null || classLoader != moduleLifeCycle.getClassLoader();
+  }
+
   public boolean refresh() throws Exception {
     if (application != null) {
       if (classLoader != moduleLifeCycle.getClassLoader()) {
         stop();
       }
+      else if (revision != moduleLifeCycle.getRevision()) {
+        Set<String> updates = moduleLifeCycle.getUpdates(revision);
+        log.log("Updating templates " + updates);
+        TemplatePlugin templatePlugin = (TemplatePlugin)application.getPlugin("template");
+        templatePlugin.update(updates);
+        revision = moduleLifeCycle.getRevision();
+      }
     }
 
     //
@@ -182,6 +203,7 @@ public class ApplicationRuntime<P, R> implements Closeable {
     this.descriptor = descriptor;
     this.application = application;
     this.classLoader = moduleLifeCycle.getClassLoader();
+    this.revision = moduleLifeCycle.getRevision();
 
     // For application start (perhaps we could remove that)
     BeanLifeCycle lf = injectionContext.get(Application.class);
@@ -20,17 +20,30 @@ import juzu.impl.common.DevClassLoader;
 import juzu.impl.common.Logger;
 import juzu.impl.compiler.*;
 import juzu.impl.compiler.Compiler;
+import juzu.impl.common.Tools;
+import juzu.impl.compiler.file.IndexedFileManager;
+import juzu.impl.fs.Change;
 import juzu.impl.fs.FileSystemScanner;
 import juzu.impl.fs.Filter;
 import juzu.impl.fs.Snapshot;
 import juzu.impl.fs.spi.ReadFileSystem;
+import juzu.impl.fs.spi.filter.FilterFileSystem;
 import juzu.impl.fs.spi.ram.RAMFileSystem;
+import juzu.impl.fs.spi.url.Node;
 import juzu.impl.fs.spi.url.URLFileSystem;
+import juzu.impl.template.spi.TemplateProvider;
 import juzu.processor.MainProcessor;
 
+import javax.tools.StandardLocation;
 import java.io.IOException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
 
 /**
  * The module life cycle.
@@ -70,13 +83,44 @@ public abstract class ModuleRuntime<C> {
    */
   public abstract ReadFileSystem<C> getClasses();
 
+  /**
+   * Returns the current revision of the module resources. The revision changes when resources are
+   * updated in the current class loader, i.e without requiring a new class loader.
+   *
+   * @return the current revision
+   */
+  public int getRevision() {
+    return 0;
+  }
+
+  /**
+   * Returns the source paths of the resources updated in the current class loader after the specified revision.
+   *
+   * @param revision the revision
+   * @return the updated source paths
+   */
+  public Set<String> getUpdates(int revision) {
+    return Collections.emptySet();
+  }
+
+  /**
+   * Returns true when the last refresh failed and the module sources did not change since, refreshing the
+   * module would fail again the same way.
+   *
+   * @return true when the last failure is still current
+   * @throws IOException any io exception
+   */
+  public boolean isFailureCurrent() throws IOException {
+    return false;
+  }
+
   public static class Dynamic<S> extends ModuleRuntime<String[]> {
 
     /** . */
     private final ClassLoader baseClassLoader;
 
     /** . */
-    private URLFileSystem classPath;
+    private IndexedFileManager<Node> classPath;
 
     /** . */
     private FileSystemScanner<S> scanner;
@@ -91,11 +135,26 @@ public abstract class ModuleRuntime<C> {
     private ClassLoader devClassLoader;
 
     /** . */
-    private ReadFileSystem<String[]> classes;
+    private RAMFileSystem classes;
+
+    /** The hash of the generated classes, used to detect when the class loader must be replaced. */
+    private Snapshot<String[]> classesSnapshot;
+
+    /** The source extensions of the template providers. */
+    private Set<String> templateExtensions;
+
+    /** . */
+    private int revision;
+
+    /** The revision of the last update of the resources updated in the current class loader. */
+    private final HashMap<String, Integer> updates;
 
     /** . */
     private boolean failed;
 
+    /** The snapshot of the sources the last refresh failed with. */
+    private Snapshot<S> failure;
+
     public Dynamic(Logger logger, ClassLoader baseClassLoader, ReadFileSystem<S> source) {
       super(logger);
 
@@ -103,9 +162,11 @@ public abstract class ModuleRuntime<C> {
       this.classLoader = null;
       this.baseClassLoader = baseClassLoader;
       this.devClassLoader = new DevClassLoader(baseClassLoader);
-      this.scanner = FileSystemScanner.createHashing(source);
+      this.scanner = FileSystemScanner.createHybrid(source);
       this.snapshot = scanner.take();
       this.classPath = null;
+      this.revision = 0;
+      this.updates = new HashMap<String, Integer>();
       this.failed = false;
     }
 
@@ -119,7 +180,8 @@ public abstract class ModuleRuntime<C> {
 
       // Lazy initialize
       if (classPath == null) {
-        classPath = new URLFileSystem().add(devClassLoader, ClassLoader.getSystemClassLoader().getParent());
+        URLFileSystem fs = new URLFileSystem().add(devClassLoader, ClassLoader.getSystemClassLoader().getParent());
+        classPath = new IndexedFileManager<Node>(StandardLocation.CLASS_PATH, fs);
       }
 
       Snapshot<S> next = snapshot.scan();
@@ -129,11 +191,74 @@ public abstract class ModuleRuntime<C> {
         logger.log("No changes detected");
         return false;
       }
+      else if (!failed && classes != null && isTemplateUpdate(next.getChanges())) {
+        logger.log("Updating templates " + next.getChanges().keySet());
+
+        //
+        this.failed = true;
+        this.failure = next;
+
+        //
+        ReadFileSystem<S> sourcePath = scanner.getFileSystem();
+
+        // Copy the updated templates
+        for (String path : next.getChanges().keySet()) {
+          String[] names = Tools.split(path.substring(1), '/');
+          classes.setContent(names, sourcePath.getContent(sourcePath.getPath(names)).getObject());
+        }
+
+        // The java sources are hidden and the previous classes are on the class path, so the meta model saved
+        // in the class output is reused and only the generated template classes are compiled
+        ReadFileSystem<S> templatePath = new FilterFileSystem<S>(sourcePath, new Filter.Default<S>() {
+          @Override
+          public boolean acceptFile(S file, String name) throws IOException {
+            return !name.endsWith(".java");
+          }
+        });
+        Compiler compiler = Compiler.
+            builder().
+            config(new CompilerConfig().force(true)).
+            sourcePath(templatePath).
+            sourceOutput(classes).
+            classOutput(classes).
+            addClassPath(classPath).
+            addClassPath(classes).build();
+        compiler.addAnnotationProcessor(new MainProcessor());
+        compiler.compile();
+
+        // The class loader is replaced only when a generated class has changed, for instance when
+        // the parameters of a template are modified
+        Snapshot<String[]> nextClasses = classesSnapshot.scan();
+        boolean reload = false;
+        for (Change change : nextClasses.getChanges().values()) {
+          reload |= change != Change.ADD;
+        }
+        if (reload) {
+          logger.log("Reloading application classes");
+          this.classLoader = new URLClassLoader(new URL[]{classes.getURL()}, devClassLoader);
+          this.updates.clear();
+        }
+        else {
+          revision++;
+          for (String path : next.getChanges().keySet()) {
+            updates.put(path, revision);
+          }
+        }
+
+        //
+        this.classesSnapshot = nextClasses;
+        this.snapshot = next;
+        this.failed = false;
+
+        //
+        return true;
+      }
       else {
         logger.log("Building application");
 
         //
         this.failed = true;
+        this.failure = next;
 
         //
         ReadFileSystem<S> sourcePath = scanner.getFileSystem();
@@ -160,6 +285,13 @@ public abstract class ModuleRuntime<C> {
         //
         this.classLoader = new URLClassLoader(new URL[]{classOutput.getURL()}, devClassLoader);
         this.classes = classOutput;
+        this.classesSnapshot = new FileSystemScanner.Hybrid<String[]>(classOutput) {
+          @Override
+          public boolean acceptFile(String[] file, String name) throws IOException {
+            return name.endsWith(".class");
+          }
+        }.take().scan();
+        this.updates.clear();
         this.snapshot = next;
         this.failed = false;
 
@@ -168,6 +300,52 @@ public abstract class ModuleRuntime<C> {
       }
     }
 
+    /**
+     * Returns true when the changes are only updates of existing templates: the templates can be recompiled
+     * on top of the previous class output, adding or removing a template modifies the application meta model.
+     *
+     * @param changes the changes
+     * @return true if the changes are template updates
+     */
+    private boolean isTemplateUpdate(Map<String, Change> changes) {
+      if (templateExtensions == null) {
+        HashSet<String> extensions = new HashSet<String>();
+        for (TemplateProvider provider : ServiceLoader.load(TemplateProvider.class, baseClassLoader)) {
+          extensions.add(provider.getSourceExtension());
+        }
+        templateExtensions = extensions;
+      }
+      for (Map.Entry<String, Change> change : changes.entrySet()) {
+        String path = change.getKey();
+        int pos = path.lastIndexOf('.');
+        if (change.getValue() != Change.UPDATE || pos == -1 || !templateExtensions.contains(path.substring(pos + 1))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public boolean isFailureCurrent() throws IOException {
+      return failed && failure != null && !failure.scan().hasChanges();
+    }
+
+    @Override
+    public int getRevision() {
+      return revision;
+    }
+
+    @Override
+    public Set<String> getUpdates(int revision) {
+      HashSet<String> updated = new HashSet<String>();
+      for (Map.Entry<String, Integer> update : updates.entrySet()) {
+        if (update.getValue() > revision) {
+          updated.add(update.getKey());
+        }
+      }
+      return updated;
+    }
+
     @Override
     public ClassLoader getClassLoader() {
       return classLoader;
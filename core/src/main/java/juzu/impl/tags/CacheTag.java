@@ -0,0 +1,73 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.tags;
+
+import juzu.impl.common.Location;
+import juzu.impl.compiler.ProcessingException;
+import juzu.impl.plugin.template.metamodel.TemplateMetaModel;
+import juzu.impl.template.spi.Template;
+import juzu.impl.template.spi.juzu.ast.ASTNode;
+import juzu.impl.template.spi.juzu.compiler.ExtendedTagHandler;
+import juzu.impl.template.spi.juzu.compiler.ProcessPhase;
+import juzu.template.FragmentCache;
+import juzu.template.Renderable;
+import juzu.template.TemplateRenderContext;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The <code>#{cache key=... ttl=...}</code> tag caches the chunks rendered by its body in the
+ * {@link FragmentCache} of the application, the optional <code>ttl</code> argument is the fragment time to live
+ * in seconds, it is checked when the template is compiled.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+public class CacheTag extends ExtendedTagHandler {
+
+  @Override
+  public void process(ProcessPhase phase, ASTNode.Tag tag, Template t) throws ProcessingException {
+    String ttl = tag.getArgs().get("ttl");
+    if (ttl != null) {
+      try {
+        Long.parseLong(ttl.trim());
+      }
+      catch (NumberFormatException e) {
+        Location location = tag.getBegin().getPosition();
+        throw TemplateMetaModel.CACHE_ILLEGAL_TTL.failure(
+            ttl,
+            t.getRelativePath().getCanonical(),
+            location.getLine(),
+            location.getCol());
+      }
+    }
+  }
+
+  @Override
+  public void render(TemplateRenderContext context, Renderable body, Map<String, String> args) throws IOException {
+    String key = args != null ? args.get("key") : null;
+    FragmentCache cache = key != null ? context.resolveFragmentCache() : null;
+
+    //
+    if (cache != null) {
+      String ttl = args.get("ttl");
+      cache.render(context, key, ttl != null ? Long.parseLong(ttl.trim()) * 1000 : 0, body);
+    } else {
+      body.render(context);
+    }
+  }
+}
@@ -36,6 +36,9 @@ public class DecorateTag extends ExtendedTagHandler {
   /** . */
   static final ThreadLocal<Renderable> current = new ThreadLocal<Renderable>();
 
+  /** The decorating template when the handler is shared. */
+  private volatile TemplateStub template;
+
   @Override
   public void process(ProcessPhase phase, ASTNode.Tag tag, Template t) {
     ASTNode current = tag;
@@ -71,12 +74,20 @@ public class DecorateTag extends ExtendedTagHandler {
     }
   }
 
+  @Override
+  public boolean isShared() {
+    return true;
+  }
+
   @Override
   public void render(TemplateRenderContext context, Renderable body, Map<String, String> args) throws IOException {
     current.set(body);
     try {
-      String path = args.get("path");
-      TemplateStub template = context.resolveTemplate(path);
+      TemplateStub template = this.template;
+      if (template == null || !template.isValid()) {
+        String path = args.get("path");
+        this.template = template = context.resolveTemplate(path);
+      }
       template.render(context);
     }
     finally {
@@ -31,16 +31,27 @@ import java.util.Map;
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class IncludeTag extends ExtendedTagHandler {
 
+  /** The included template when the handler is shared. */
+  private volatile TemplateStub template;
+
   @Override
   public void compile(ProcessPhase phase, ASTNode.Tag tag, Template t) {
     String path = tag.getArgs().get("path");
     phase.resolveTemplate((Path.Relative)Path.parse(path));
   }
 
+  @Override
+  public boolean isShared() {
+    return true;
+  }
+
   @Override
   public void render(TemplateRenderContext context, Renderable body, Map<String, String> args) throws IOException {
-    String path = args.get("path");
-    TemplateStub template = context.resolveTemplate(path);
+    TemplateStub template = this.template;
+    if (template == null || !template.isValid()) {
+      String path = args.get("path");
+      this.template = template = context.resolveTemplate(path);
+    }
     template.render(context);
   }
 }
@@ -46,6 +46,9 @@ public abstract class TemplateStub {
   /** . */
   private final AtomicInteger status;
 
+  /** False when the stub has been replaced by the stub of an updated template. */
+  private volatile boolean valid;
+
   protected TemplateStub(String id) {
 
     if (id == null) {
@@ -54,6 +57,7 @@ public abstract class TemplateStub {
 
     this.id = id;
     this.status = new AtomicInteger(CONSTRUCTED);
+    this.valid = true;
   }
 
   public String getId() {
@@ -92,6 +96,23 @@ public abstract class TemplateStub {
     }
   }
 
+  /**
+   * Returns false when the stub has been replaced, the stub can still be rendered however a reference to the stub
+   * should be resolved again.
+   *
+   * @return the stub validity
+   */
+  public boolean isValid() {
+    return valid;
+  }
+
+  /**
+   * Invalidate the stub when it is replaced.
+   */
+  public void invalidate() {
+    valid = false;
+  }
+
   /**
    * Renders the template.
    *
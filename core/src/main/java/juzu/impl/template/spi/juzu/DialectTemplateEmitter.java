@@ -53,6 +53,18 @@ public abstract class DialectTemplateEmitter {
 
   public abstract void closeTag(String tagName, Map<String, String> args);
 
+  /**
+   * Close a tag whose handler may be shared by the renders of the tag, the default implementation ignores the
+   * shared argument.
+   *
+   * @param tagName the tag handler class name
+   * @param args the tag arguments
+   * @param shared true when the handler instance can be shared
+   */
+  public void closeTag(String tagName, Map<String, String> args, boolean shared) {
+    closeTag(tagName, args);
+  }
+
   public abstract void tag(String tagName, Map<String, String> args);
 
 }
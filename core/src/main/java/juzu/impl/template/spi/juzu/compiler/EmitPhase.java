@@ -83,7 +83,8 @@ public class EmitPhase extends CompilationPhase {
         if (tag.getChildren() != null) {
           ctx.writer.openTag(className, tag.getArgs());
           doEmit(ctx, tag.getChildren());
-          ctx.writer.closeTag(className, tag.getArgs());
+          boolean shared = handler instanceof ExtendedTagHandler && ((ExtendedTagHandler)handler).isShared();
+          ctx.writer.closeTag(className, tag.getArgs(), shared);
         }
         else {
           ctx.writer.tag(className, tag.getArgs());
@@ -29,4 +29,15 @@ public abstract class ExtendedTagHandler extends TagHandler {
 
   public void compile(ProcessPhase phase, ASTNode.Tag tag, Template t) throws ProcessingException {
   }
+
+  /**
+   * Returns true when a single instance of the handler can render a tag for all the renders of the template, such
+   * handler is created once per tag when the arguments of the tag are constant and can keep what it resolves from
+   * the tag arguments. This method returns false by default.
+   *
+   * @return true when the handler instance can be shared by the renders of a tag
+   */
+  public boolean isShared() {
+    return false;
+  }
 }
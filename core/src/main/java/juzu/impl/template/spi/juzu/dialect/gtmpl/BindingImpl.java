@@ -17,6 +17,7 @@
 package juzu.impl.template.spi.juzu.dialect.gtmpl;
 
 import groovy.lang.Binding;
+import juzu.io.Chunk;
 import juzu.template.TemplateRenderContext;
 
 import java.lang.reflect.InvocationTargetException;
@@ -31,11 +32,11 @@ class BindingImpl extends Binding {
   /** . */
   private TemplateRenderContext renderContext;
 
-  public BindingImpl(TemplateRenderContext renderContext) {
+  public BindingImpl(TemplateRenderContext renderContext, Chunk.Data.Text[] texts) {
     super(renderContext.getAttributes());
 
     //
-    this.printer = new GroovyPrinter(renderContext);
+    this.printer = new GroovyPrinter(renderContext, texts);
     this.renderContext = renderContext;
   }
 
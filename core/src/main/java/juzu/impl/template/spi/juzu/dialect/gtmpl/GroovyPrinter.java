@@ -19,6 +19,7 @@ package juzu.impl.template.spi.juzu.dialect.gtmpl;
 import groovy.lang.GString;
 import groovy.lang.GroovyInterceptable;
 import groovy.lang.GroovyObjectSupport;
+import juzu.impl.common.Tools;
 import juzu.io.Chunk;
 import juzu.template.TemplateRenderContext;
 import org.codehaus.groovy.runtime.InvokerInvocationException;
@@ -31,16 +32,30 @@ import java.util.Locale;
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class GroovyPrinter extends GroovyObjectSupport implements GroovyInterceptable {
 
+  /** . */
+  private static final Chunk.Data.Text LINE_BREAK = Chunk.create("\n", Tools.UTF_8);
+
   /** . */
   final TemplateRenderContext renderContext;
 
+  /** The text constants of the template. */
+  private final Chunk.Data.Text[] texts;
+
+  /** The date format of the render locale, created on first use. */
+  private DateFormat dateFormat;
+
   public GroovyPrinter(TemplateRenderContext renderContext) throws NullPointerException {
+    this(renderContext, null);
+  }
+
+  public GroovyPrinter(TemplateRenderContext renderContext, Chunk.Data.Text[] texts) throws NullPointerException {
     if (renderContext == null) {
       throw new NullPointerException("No null render context accepted");
     }
 
     //
     this.renderContext = renderContext;
+    this.texts = texts;
   }
 
   /**
@@ -57,7 +72,11 @@ public class GroovyPrinter extends GroovyObjectSupport implements GroovyIntercep
       Object[] array = (Object[])args;
       if (array.length == 1) {
         try {
-          if ("print".equals(name)) {
+          if ("text".equals(name)) {
+            text((Integer)array[0]);
+            return null;
+          }
+          else if ("print".equals(name)) {
             print(array[0]);
             return null;
           }
@@ -76,13 +95,23 @@ public class GroovyPrinter extends GroovyObjectSupport implements GroovyIntercep
     return super.invokeMethod(name, args);
   }
 
+  /**
+   * Print a text constant of the template.
+   *
+   * @param index the text index
+   * @throws IOException any io exception
+   */
+  public final void text(int index) throws IOException {
+    renderContext.getPrinter().provide(texts[index]);
+  }
+
   public final void println(Object o) throws IOException {
     print(o);
     println();
   }
 
   public final void println() throws IOException {
-    renderContext.getPrinter().provide(Chunk.create("\n"));
+    renderContext.getPrinter().provide(LINE_BREAK);
   }
 
   /**
@@ -93,9 +122,13 @@ public class GroovyPrinter extends GroovyObjectSupport implements GroovyIntercep
    */
   private Object format(Object o) {
     if (o instanceof Date) {
-      Locale locale = renderContext.getLocale();
-      if (locale != null) {
-        DateFormat dateFormat = DateFormat.getDateInstance(DateFormat.MEDIUM, locale);
+      if (dateFormat == null) {
+        Locale locale = renderContext.getLocale();
+        if (locale != null) {
+          dateFormat = DateFormat.getDateInstance(DateFormat.MEDIUM, locale);
+        }
+      }
+      if (dateFormat != null) {
         o = dateFormat.format((Date)o);
       }
     } else if (o instanceof MessageKey) {
@@ -121,7 +154,10 @@ public class GroovyPrinter extends GroovyObjectSupport implements GroovyIntercep
   }
 
   public final void print(Object o) throws IOException {
-    if (o instanceof GString) {
+    if (o instanceof Chunk.Data.Text) {
+      renderContext.getPrinter().provide((Chunk.Data.Text)o);
+    }
+    else if (o instanceof GString) {
       GString gs = (GString)o;
       Object[] values = gs.getValues();
       for (int i = 0;i < values.length;i++) {
@@ -21,6 +21,7 @@ import juzu.impl.template.spi.juzu.DialectTemplateEmitter;
 import juzu.impl.template.spi.juzu.ast.SectionType;
 import juzu.impl.common.Location;
 import juzu.impl.common.Tools;
+import juzu.io.Chunk;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -43,6 +44,12 @@ public class GroovyTemplateEmitter extends DialectTemplateEmitter {
   /** . */
   private List<String> messageKeys = new ArrayList<String>();
 
+  /** The class names of the tags rendered by a shared handler. */
+  private List<String> sharedTags = new ArrayList<String>();
+
+  /** The arguments of the tags rendered by a shared handler. */
+  private List<Map<String, String>> sharedTagArgs = new ArrayList<Map<String, String>>();
+
   /** The line number table. */
   private HashMap<Integer, Foo> locationTable = new HashMap<Integer, Foo>();
 
@@ -94,21 +101,36 @@ public class GroovyTemplateEmitter extends DialectTemplateEmitter {
     builder.append("public static class ").append(constants.getIdentifier()).append(sep);
     builder.append("{").append(sep);
 
-    // Add text constant
+    // Add text constant, they are encoded once when the constants are loaded
+    String textType = Chunk.Data.Text.class.getName().replace('$', '.');
     for (int i = 0;i < texts.size();i++) {
       String text = texts.get(i);
       builder.
           append("public static final ").
-          append("String").
+          append(textType).
           append(" s").
           append(i).
-          append(" = '");
+          append(" = ").
+          append(Chunk.class.getName()).
+          append(".create('");
       juzu.impl.common.Tools.escape(text, builder);
       builder.
-          append("';").
+          append("', ").
+          append(Tools.class.getName()).
+          append(".UTF_8);").
           append(sep);
     }
 
+    // Add the text constant table used by the printer
+    builder.append("public static final ").append(textType).append("[] TEXTS = [");
+    for (int i = 0;i < texts.size();i++) {
+      if (i > 0) {
+        builder.append(',');
+      }
+      builder.append('s').append(i);
+    }
+    builder.append("] as ").append(textType).append("[];").append(sep);
+
     // Add message keys
     for (int i = 0;i < messageKeys.size();i++) {
       String messageKey = messageKeys.get(i);
@@ -126,6 +148,41 @@ public class GroovyTemplateEmitter extends DialectTemplateEmitter {
           append(sep);
     }
 
+    // Add shared tag handlers and their arguments, they are created once when the constants are loaded
+    for (int i = 0;i < sharedTags.size();i++) {
+      String className = sharedTags.get(i);
+      builder.
+          append("public static final ").
+          append(className).
+          append(" t").
+          append(i).
+          append(" = new ").
+          append(className).
+          append("();").
+          append(sep);
+      builder.append("public static final Map<String, String> a").append(i).append(" = ");
+      Map<String, String> args = sharedTagArgs.get(i);
+      if (args == null || args.isEmpty()) {
+        builder.append("null");
+      }
+      else {
+        builder.append("[");
+        int index = 0;
+        for (Map.Entry<String, String> entry : args.entrySet()) {
+          if (index++ > 0) {
+            builder.append(",");
+          }
+          builder.append("'");
+          Tools.escape(entry.getKey(), builder);
+          builder.append("':'");
+          Tools.escape(entry.getValue(), builder);
+          builder.append("'");
+        }
+        builder.append("]");
+      }
+      builder.append(";").append(sep);
+    }
+
     // Add line table
     builder.append("public static final Map<Integer, ").append(Foo.class.getName()).append("> TABLE = ");
     if (locationTable.isEmpty()) {
@@ -213,7 +270,7 @@ public class GroovyTemplateEmitter extends DialectTemplateEmitter {
   }
 
   public void appendText(String text) {
-    out.append(";out.print(").append(constants).append(".s").append(texts.size()).append(");").append(sep);
+    out.append(";out.text(").append(texts.size()).append(");").append(sep);
     texts.add(text);
     lineNumber++;
   }
@@ -285,6 +342,39 @@ public class GroovyTemplateEmitter extends DialectTemplateEmitter {
     out.append(");");
   }
 
+  @Override
+  public void closeTag(String className, Map<String, String> args, boolean shared) {
+    if (shared && isConstant(args)) {
+      int count = closureCountStack[closureCountIndex--];
+      int index = sharedTags.size();
+      out.append("; } as juzu.template.Renderable;");
+      out.append("; ").append(constants).append(".t").append(index).append(".render(out.renderContext, closure").append(count).append(",");
+      out.append(constants).append(".a").append(index).append(");");
+      sharedTags.add(className);
+      sharedTagArgs.add(args);
+    }
+    else {
+      closeTag(className, args);
+    }
+  }
+
+  /**
+   * Returns true when the tag arguments are not evaluated at render time.
+   *
+   * @param args the tag arguments
+   * @return true when the arguments are constant
+   */
+  private static boolean isConstant(Map<String, String> args) {
+    if (args != null) {
+      for (Map.Entry<String, String> entry : args.entrySet()) {
+        if (entry.getKey().indexOf('$') != -1 || entry.getValue().indexOf('$') != -1) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
   @Override
   public void tag(String tagName, Map<String, String> args) {
     // throw new UnsupportedOperationException();
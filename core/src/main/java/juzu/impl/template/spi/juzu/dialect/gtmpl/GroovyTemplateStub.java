@@ -21,15 +21,17 @@ import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyCodeSource;
 import groovy.lang.Script;
 import juzu.impl.template.spi.TemplateStub;
+import juzu.io.Chunk;
 import juzu.template.TemplateExecutionException;
 import juzu.template.TemplateRenderContext;
 import org.codehaus.groovy.control.CompilerConfiguration;
-import org.codehaus.groovy.runtime.InvokerHelper;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
 import java.util.HashMap;
 
@@ -39,15 +41,22 @@ public class GroovyTemplateStub extends TemplateStub {
   /** . */
   private Class<?> scriptClass;
 
+  /** The script constructor resolved once. */
+  private Constructor<? extends Script> scriptConstructor;
+
   /** . */
   private HashMap<Integer, Foo> locationTable;
 
+  /** . */
+  private Chunk.Data.Text[] texts;
+
   public GroovyTemplateStub(String templateId) {
     super(templateId);
 
     //
     this.scriptClass = null;
     this.locationTable = null;
+    this.texts = null;
   }
 
   @Override
@@ -79,6 +88,14 @@ public class GroovyTemplateStub extends TemplateStub {
       }
     }
 
+    //
+    try {
+      scriptConstructor = scriptClass.asSubclass(Script.class).getConstructor(Binding.class);
+    }
+    catch (Exception e) {
+      throw new UnsupportedOperationException("Handle me gracefully", e);
+    }
+
     // Load constants
     try {
       String simpleName;
@@ -94,6 +111,7 @@ public class GroovyTemplateStub extends TemplateStub {
       String constantsName = prefix + "C" + simpleName;
       Class<?> constants = scriptClass.getClassLoader().loadClass(constantsName);
       locationTable = (HashMap<Integer, Foo>)constants.getField("TABLE").get(null);
+      texts = (Chunk.Data.Text[])constants.getField("TEXTS").get(null);
     }
     catch (Exception e) {
       throw new UnsupportedOperationException("Handle me gracefully", e);
@@ -129,10 +147,19 @@ public class GroovyTemplateStub extends TemplateStub {
 
   @Override
   public void doRender(TemplateRenderContext renderContext) throws TemplateExecutionException, IOException {
-    Binding binding = new BindingImpl(renderContext);
+    Binding binding = new BindingImpl(renderContext, texts);
 
     //
-    Script script = InvokerHelper.createScript(scriptClass, binding);
+    Script script;
+    try {
+      script = scriptConstructor.newInstance(binding);
+    }
+    catch (InvocationTargetException e) {
+      throw buildRuntimeException(e.getCause());
+    }
+    catch (Exception e) {
+      throw buildRuntimeException(e);
+    }
 
     //
     try {
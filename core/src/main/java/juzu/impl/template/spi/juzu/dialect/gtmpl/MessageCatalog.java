@@ -0,0 +1,138 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package juzu.impl.template.spi.juzu.dialect.gtmpl;
+
+import java.lang.ref.WeakReference;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.WeakHashMap;
+
+/**
+ * The messages of a resource bundle compiled in a table indexed by the {@link MessageKey} ordinals, only the messages
+ * of the keys existing when the catalog is compiled are indexed so the bundle keys do not allocate ordinals. A catalog
+ * is immutable like the bundle it is compiled from, a key absent from the bundle resolves to null without throwing a
+ * {@link java.util.MissingResourceException}.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+public class MessageCatalog {
+
+  /** The catalogs of the bundles, a catalog does not reference its bundle. */
+  private static final Map<ResourceBundle, MessageCatalog> catalogs = new WeakHashMap<ResourceBundle, MessageCatalog>();
+
+  /** The size of the {@link #recent} cache, a power of two. */
+  private static final int RECENT_SIZE = 16;
+
+  /**
+   * The catalogs recently returned in a direct mapped cache read without locking, the entries are immutable and
+   * the bundles are weakly referenced.
+   */
+  private static final Recent[] recent = new Recent[RECENT_SIZE];
+
+  /**
+   * Returns the catalog of a bundle, the catalog is compiled on the first call for the bundle. The lock of the
+   * catalogs is only taken when the catalog is not found in the recent catalogs.
+   *
+   * @param bundle the bundle
+   * @return the bundle catalog
+   */
+  public static MessageCatalog get(ResourceBundle bundle) {
+    int h = System.identityHashCode(bundle);
+    int index = (h ^ (h >>> 16)) & (RECENT_SIZE - 1);
+    Recent entry = recent[index];
+    if (entry != null && entry.bundle.get() == bundle) {
+      return entry.catalog;
+    }
+    MessageCatalog catalog;
+    synchronized (catalogs) {
+      catalog = catalogs.get(bundle);
+      if (catalog == null) {
+        catalogs.put(bundle, catalog = new MessageCatalog(bundle));
+      }
+    }
+    recent[index] = new Recent(bundle, catalog);
+    return catalog;
+  }
+
+  /** The ordinal count when the catalog was compiled. */
+  private final int limit;
+
+  /** The messages indexed by the ordinals of the keys existing when the catalog was compiled. */
+  private final String[] values;
+
+  /** The other messages, they are resolved by the keys created after the catalog was compiled. */
+  private final Map<String, String> others;
+
+  public MessageCatalog(ResourceBundle bundle) {
+    int limit = MessageKey.count();
+    HashMap<Integer, String> indexed = new HashMap<Integer, String>();
+    HashMap<String, String> others = new HashMap<String, String>();
+    int length = 0;
+    for (Enumeration<String> e = bundle.getKeys();e.hasMoreElements();) {
+      String key = e.nextElement();
+      Object value = bundle.getObject(key);
+      if (value instanceof String) {
+        int ordinal = MessageKey.lookup(key);
+        if (ordinal >= 0 && ordinal < limit) {
+          indexed.put(ordinal, (String)value);
+          length = Math.max(length, ordinal + 1);
+        } else {
+          others.put(key, (String)value);
+        }
+      }
+    }
+    String[] values = new String[length];
+    for (Map.Entry<Integer, String> entry : indexed.entrySet()) {
+      values[entry.getKey()] = entry.getValue();
+    }
+    this.limit = limit;
+    this.values = values;
+    this.others = others;
+  }
+
+  /**
+   * Resolve a message.
+   *
+   * @param key the message key
+   * @return the message or null when the bundle does not contain the key
+   */
+  public String resolve(MessageKey key) {
+    int ordinal = key.getOrdinal();
+    if (ordinal < limit) {
+      return ordinal < values.length ? values[ordinal] : null;
+    } else {
+      return others.get(key.getValue());
+    }
+  }
+
+  private static class Recent {
+
+    /** . */
+    private final WeakReference<ResourceBundle> bundle;
+
+    /** . */
+    private final MessageCatalog catalog;
+
+    private Recent(ResourceBundle bundle, MessageCatalog catalog) {
+      this.bundle = new WeakReference<ResourceBundle>(bundle);
+      this.catalog = catalog;
+    }
+  }
+}
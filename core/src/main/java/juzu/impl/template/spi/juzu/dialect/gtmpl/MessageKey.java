@@ -16,6 +16,9 @@
 
 package juzu.impl.template.spi.juzu.dialect.gtmpl;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * A message key.
  *
@@ -23,17 +26,78 @@ package juzu.impl.template.spi.juzu.dialect.gtmpl;
  */
 public class MessageKey {
 
+  /** The ordinal of each message key value. */
+  private static final ConcurrentHashMap<String, Integer> ordinals = new ConcurrentHashMap<String, Integer>();
+
+  /** The next ordinal. */
+  private static final AtomicInteger next = new AtomicInteger();
+
+  /**
+   * Returns the ordinal of a message key value, the same ordinal is returned for a value for the lifetime of
+   * this class.
+   *
+   * @param value the message key value
+   * @return the ordinal
+   */
+  static int ordinal(String value) {
+    Integer ordinal = ordinals.get(value);
+    if (ordinal == null) {
+      synchronized (ordinals) {
+        ordinal = ordinals.get(value);
+        if (ordinal == null) {
+          ordinals.put(value, ordinal = next.getAndIncrement());
+        }
+      }
+    }
+    return ordinal;
+  }
+
+  /**
+   * Returns the ordinal of a message key value when a key has been created for this value.
+   *
+   * @param value the message key value
+   * @return the ordinal or -1
+   */
+  static int lookup(String value) {
+    Integer ordinal = ordinals.get(value);
+    return ordinal != null ? ordinal : -1;
+  }
+
+  /**
+   * Returns the number of ordinals, the keys created afterwards have an ordinal greater or equals to this count.
+   *
+   * @return the ordinal count
+   */
+  static int count() {
+    synchronized (ordinals) {
+      return next.get();
+    }
+  }
+
   /** . */
   private final String value;
 
+  /** . */
+  private final int ordinal;
+
   public MessageKey(String value) {
     this.value = value;
+    this.ordinal = ordinal(value);
   }
 
   public String getValue() {
     return value;
   }
 
+  /**
+   * Returns the ordinal of this key, it indexes the values of a {@link MessageCatalog}.
+   *
+   * @return the ordinal
+   */
+  public int getOrdinal() {
+    return ordinal;
+  }
+
   @Override
   public String toString() {
     return "MessageKey[" + value + "]";
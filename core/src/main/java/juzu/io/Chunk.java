@@ -17,6 +17,9 @@ package juzu.io;
 
 import juzu.PropertyType;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
 /**
  * A chunk of data.
  *
@@ -52,6 +55,10 @@ public abstract class Chunk {
     return new Data.Bytes(data);
   }
 
+  public static Data.Text create(String data, Charset charset) {
+    return new Data.Text(data, charset);
+  }
+
   /**
    * A property chunk.
    * @param <T>
@@ -166,5 +173,33 @@ public abstract class Chunk {
         this.data = data;
       }
     }
+
+    /**
+     * A text chunk encoded with a charset: a stream using the same charset can write the encoded bytes
+     * directly, otherwise the text is used.
+     */
+    public static class Text extends Bytes {
+
+      /** . */
+      public final String value;
+
+      /** . */
+      public final Charset charset;
+
+      private Text(String value, Charset charset) {
+        super(encode(value, charset));
+
+        //
+        this.value = value;
+        this.charset = charset;
+      }
+
+      private static byte[] encode(String value, Charset charset) {
+        ByteBuffer buffer = charset.encode(value);
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+      }
+    }
   }
 }
@@ -16,40 +16,73 @@
 package juzu.io;
 
 import java.io.IOException;
-import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
-/** @author Julien Viet */
+/**
+ * A buffer of chunks appended by a producer and sent to a consumer stream. The chunks are buffered until the
+ * consumer stream is provided with the {@link #send(Stream)} method, after that the appended chunks are provided
+ * to the stream.
+ *
+ * <p>The buffer does not use locks: it is designed for a single producer thread at a time and the chunks are stored
+ * in a queue of array segments. The chunks are provided to the stream by the thread that wins the drain counter,
+ * so the calls to the stream are never concurrent. When the stream is provided, the consecutive small char chunks
+ * available in the queue are coalesced into a single chunk.</p>
+ *
+ * @author Julien Viet
+ */
 public class ChunkBuffer implements Streamable, Appendable {
 
+  /** The number of chunks of a segment. */
+  private static final int SEGMENT_SIZE = 32;
 
-  /** . */
-  private static final int STATUS_BUFFERING = 0;
+  /** The maximum number of chars of a chunk to be coalesced. */
+  private static final int COALESCE_THRESHOLD = 256;
 
-  /** . */
-  private static final int STATUS_PROVIDING = 1;
+  /** The maximum number of chars of a coalesced chunk. */
+  private static final int BLOCK_SIZE = 4096;
 
-  /** . */
-  private static final int STATUS_CLOSED = 2;
+  /** The segment written by the producer. */
+  private Segment tail;
 
-  /** . */
-  private final LinkedList<Chunk> queue = new LinkedList<Chunk>();
+  /** The segment read by the drain. */
+  private Segment head;
+
+  /** The index of the next chunk read by the drain in the head segment. */
+  private int index;
 
   /** . */
-  private Stream consumer = null;
+  private final AtomicReference<Stream> consumer = new AtomicReference<Stream>();
+
+  /** The drain counter: the thread incrementing it from zero provides the chunks to the consumer. */
+  private final AtomicInteger drains = new AtomicInteger();
 
   /** . */
-  private int status = STATUS_BUFFERING;
+  private volatile boolean closed;
 
   /** . */
-  private final Object lock = new Object();
+  private boolean terminated;
+
+  /** The first pending chunk to coalesce. */
+  private Chunk pending;
+
+  /** The number of chars of the pending chunks. */
+  private int pendingLength;
+
+  /** The block of the coalesced chars. */
+  private StringBuilder block;
 
   /** . */
   private Thread.UncaughtExceptionHandler errorHandler;
 
   public ChunkBuffer() {
+    this.tail = this.head = new Segment();
   }
 
   public ChunkBuffer(Thread.UncaughtExceptionHandler errorHandler) {
+    this();
+
+    //
     this.errorHandler = errorHandler;
   }
 
@@ -58,7 +91,7 @@ public class ChunkBuffer implements Streamable, Appendable {
   }
 
   public Appendable append(CharSequence csq, int start, int end) throws IOException {
-    return append(Chunk.create(csq));
+    return append(Chunk.create(csq, start, end));
   }
 
   public Appendable append(char c) throws IOException {
@@ -73,80 +106,165 @@ public class ChunkBuffer implements Streamable, Appendable {
   }
 
   public ChunkBuffer append(Chunk chunk) {
-    synchronized (lock) {
-      switch (status) {
-        case STATUS_CLOSED:
-          throw new IllegalArgumentException("Already closed");
-        case STATUS_BUFFERING:
-          queue.add(chunk);
-          break;
-        case STATUS_PROVIDING:
-          consumer.provide(chunk);
-          break;
-      }
+    if (closed) {
+      throw new IllegalArgumentException("Already closed");
+    }
+    Segment segment = tail;
+    int size = segment.size;
+    if (size == SEGMENT_SIZE) {
+      Segment next = new Segment();
+      next.chunks[0] = chunk;
+      next.size = 1;
+      segment.next = next;
+      tail = next;
+    } else {
+      segment.chunks[size] = chunk;
+      segment.size = size + 1;
+    }
+    if (consumer.get() != null) {
+      drain();
     }
     return this;
   }
 
   public void send(Stream stream) {
+    if (!consumer.compareAndSet(null, stream)) {
+      throw new IllegalStateException("Already consumed");
+    }
+    drain();
+  }
 
-    //
-    synchronized (lock) {
-      if (this.consumer != null) {
-        throw new IllegalStateException("Already consumed");
-      } else {
-        this.consumer = stream;
-      }
+  public ChunkBuffer close() {
+    closed = true;
+    if (consumer.get() != null) {
+      drain();
     }
+    return this;
+  }
 
-    //
-    boolean close;
-    while (true) {
-      Chunk chunk;
-      synchronized (lock) {
-        if (queue.isEmpty()) {
-          if (status == STATUS_CLOSED) {
-            close = true;
-          } else {
-            status = STATUS_PROVIDING;
-            close = false;
+  /**
+   * Provide the available chunks to the consumer, when another thread is already draining the buffer, it will
+   * provide the chunks on behalf of the current thread.
+   */
+  private void drain() {
+    if (drains.getAndIncrement() != 0) {
+      return;
+    }
+    Stream stream = consumer.get();
+    int missed = 1;
+    boolean done = false;
+    try {
+      while (true) {
+        if (!terminated) {
+          boolean last = closed;
+          for (Chunk chunk = poll();chunk != null;chunk = poll()) {
+            provide(stream, chunk);
+          }
+          flush(stream);
+          if (last) {
+            terminated = true;
+            stream.close(errorHandler);
           }
+        }
+        missed = drains.addAndGet(-missed);
+        if (missed == 0) {
           break;
-        } else {
-          chunk = queue.removeFirst();
         }
       }
-      stream.provide(chunk);
+      done = true;
+    }
+    finally {
+      if (!done) {
+        drains.set(0);
+      }
     }
+  }
 
-    //
-    if (close) {
-      stream.close(errorHandler);
+  private Chunk poll() {
+    Segment segment = head;
+    if (index == SEGMENT_SIZE) {
+      Segment next = segment.next;
+      if (next == null) {
+        return null;
+      }
+      head = segment = next;
+      index = 0;
+    }
+    if (index < segment.size) {
+      Chunk chunk = segment.chunks[index];
+      segment.chunks[index++] = null;
+      return chunk;
+    } else {
+      return null;
     }
   }
 
-  public ChunkBuffer close() {
-    Stream stream;
-    synchronized (lock) {
-      switch (status) {
-        case STATUS_CLOSED:
-          stream = null;
-          break;
-        case STATUS_PROVIDING:
-          stream = this.consumer;
-          status = STATUS_CLOSED;
-          break;
-        case STATUS_BUFFERING:
-          stream = null;
-          status = STATUS_CLOSED;
-          break;
-        default:
-          throw new UnsupportedOperationException();
+  private void provide(Stream stream, Chunk chunk) {
+    int length;
+    if (chunk instanceof Chunk.Data.Char) {
+      length = 1;
+    } else if (chunk instanceof Chunk.Data.CharSequence) {
+      Chunk.Data.CharSequence chars = (Chunk.Data.CharSequence)chunk;
+      length = chars.end - chars.start;
+    } else {
+      length = Integer.MAX_VALUE;
+    }
+    if (length > COALESCE_THRESHOLD) {
+      flush(stream);
+      stream.provide(chunk);
+    } else if (pending == null) {
+      pending = chunk;
+      pendingLength = length;
+    } else if (pendingLength + length > BLOCK_SIZE) {
+      flush(stream);
+      pending = chunk;
+      pendingLength = length;
+    } else {
+      if (block == null) {
+        block = new StringBuilder();
       }
+      if (block.length() == 0) {
+        append(block, pending);
+      }
+      append(block, chunk);
+      pendingLength += length;
     }
-    if (stream != null) {
-      stream.close(errorHandler);
+  }
+
+  private void flush(Stream stream) {
+    if (pending != null) {
+      Chunk chunk;
+      if (block == null || block.length() == 0) {
+        chunk = pending;
+      } else {
+        chunk = Chunk.create(block.toString());
+        block.setLength(0);
+      }
+      pending = null;
+      pendingLength = 0;
+      stream.provide(chunk);
     }
-    return this;
+  }
+
+  private static void append(StringBuilder block, Chunk chunk) {
+    if (chunk instanceof Chunk.Data.Char) {
+      block.append(((Chunk.Data.Char)chunk).value);
+    } else {
+      Chunk.Data.CharSequence chars = (Chunk.Data.CharSequence)chunk;
+      block.append(chars.data, chars.start, chars.end);
+    }
+  }
+
+  private static class Segment {
+
+    /** . */
+    private final Chunk[] chunks = new Chunk[SEGMENT_SIZE];
+
+    /** The number of chunks published by the producer. */
+    private volatile int size;
+
+    /** . */
+    private volatile Segment next;
+
   }
 }
@@ -58,7 +58,9 @@ public abstract class OutputStream implements Stream, Closeable {
     try {
       if (chunk instanceof Chunk.Data) {
         Chunk.Data data = (Chunk.Data)chunk;
-        if (data instanceof Chunk.Data.Bytes) {
+        if (data instanceof Chunk.Data.Text) {
+          append((Chunk.Data.Text)data);
+        } else if (data instanceof Chunk.Data.Bytes) {
           append(((Chunk.Data.Bytes)data).data);
         } else if (data instanceof Chunk.Data.Chars) {
           append(CharBuffer.wrap(((Chunk.Data.Chars)data).data));
@@ -113,6 +115,17 @@ public abstract class OutputStream implements Stream, Closeable {
     errors.add(new Error(Thread.currentThread(), t));
   }
 
+  /**
+   * Append a text chunk, the default implementation appends the text value, subclasses using the charset of
+   * the text can append its encoded bytes instead.
+   *
+   * @param text the text chunk
+   * @throws IOException any io exception
+   */
+  public void append(Chunk.Data.Text text) throws IOException {
+    append(text.value);
+  }
+
   public abstract void append(CharBuffer buffer) throws IOException;
 
   public abstract void append(CharSequence csq) throws IOException;
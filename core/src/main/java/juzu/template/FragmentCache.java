@@ -0,0 +1,268 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.template;
+
+import juzu.io.Chunk;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <p>The cache of the rendered template fragments of an application. A fragment is the sequence of chunks produced
+ * by the body of a <code>#{cache key=...}</code> tag or by a template rendered with {@link Template.Builder#cached}.
+ * Fragments are identified by their key and the locale of the rendering, they are evicted when the cache
+ * reaches its capacity, the least recently used fragment first, or when their time to live expires.</p>
+ *
+ * <p>The cache is a bean of the application, it can be injected to read its metrics:</p>
+ *
+ * <code><pre>
+ *   &#064;Inject
+ *   FragmentCache cache;
+ * </pre></code>
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+public class FragmentCache {
+
+  /** The default capacity. */
+  public static final int DEFAULT_CAPACITY = 256;
+
+  /** . */
+  private final int capacity;
+
+  /** . */
+  private final LinkedHashMap<Key, Fragment> fragments;
+
+  /** . */
+  private long hits;
+
+  /** . */
+  private long misses;
+
+  /** . */
+  private long evictions;
+
+  public FragmentCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public FragmentCache(int capacity) throws IllegalArgumentException {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Cache capacity " + capacity + " must be positive");
+    }
+
+    //
+    this.capacity = capacity;
+    this.fragments = new LinkedHashMap<Key, Fragment>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Fragment> eldest) {
+        if (size() > FragmentCache.this.capacity) {
+          evictions++;
+          return true;
+        } else {
+          return false;
+        }
+      }
+    };
+  }
+
+  /**
+   * Returns the chunks of a fragment or null when the fragment is not cached or has expired.
+   *
+   * @param key the fragment key
+   * @param locale the locale
+   * @return the fragment chunks
+   * @throws NullPointerException if the key is null
+   */
+  public synchronized List<Chunk> get(String key, Locale locale) throws NullPointerException {
+    if (key == null) {
+      throw new NullPointerException("No null key accepted");
+    }
+    Key k = new Key(key, locale);
+    Fragment fragment = fragments.get(k);
+    if (fragment != null && fragment.expiration <= System.currentTimeMillis()) {
+      fragments.remove(k);
+      evictions++;
+      fragment = null;
+    }
+    if (fragment != null) {
+      hits++;
+      return fragment.chunks;
+    } else {
+      misses++;
+      return null;
+    }
+  }
+
+  /**
+   * Cache the chunks of a fragment.
+   *
+   * @param key the fragment key
+   * @param locale the locale
+   * @param chunks the fragment chunks
+   * @param ttl the time to live in milliseconds, a zero or negative value means the fragment does not expire
+   * @throws NullPointerException if the key or the chunks are null
+   */
+  public synchronized void put(String key, Locale locale, List<Chunk> chunks, long ttl) throws NullPointerException {
+    if (key == null) {
+      throw new NullPointerException("No null key accepted");
+    }
+    if (chunks == null) {
+      throw new NullPointerException("No null chunks accepted");
+    }
+    long expiration = ttl > 0 ? System.currentTimeMillis() + ttl : Long.MAX_VALUE;
+    fragments.put(new Key(key, locale), new Fragment(Collections.unmodifiableList(chunks), expiration));
+  }
+
+  /**
+   * Renders a body with this cache: when the fragment is cached its chunks are replayed in the render context,
+   * otherwise the body is rendered and the chunks it produced are cached.
+   *
+   * @param context the render context
+   * @param key the fragment key
+   * @param ttl the time to live in milliseconds, a zero or negative value means the fragment does not expire
+   * @param body the body producing the fragment
+   * @throws NullPointerException if any argument is null
+   * @throws IllegalStateException if the context is not rendering
+   */
+  public void render(TemplateRenderContext context, String key, long ttl, Renderable body) throws NullPointerException, IllegalStateException {
+    if (body == null) {
+      throw new NullPointerException("No null body accepted");
+    }
+    Locale locale = context.getLocale();
+    List<Chunk> chunks = get(key, locale);
+    if (chunks != null) {
+      context.replay(chunks);
+    } else {
+      chunks = context.capture(body);
+      put(key, locale, chunks, ttl);
+    }
+  }
+
+  /**
+   * Removes the fragments with the specified key for all locales.
+   *
+   * @param key the fragment key
+   * @throws NullPointerException if the key is null
+   */
+  public synchronized void remove(String key) throws NullPointerException {
+    if (key == null) {
+      throw new NullPointerException("No null key accepted");
+    }
+    for (Iterator<Key> i = fragments.keySet().iterator();i.hasNext();) {
+      if (i.next().value.equals(key)) {
+        i.remove();
+      }
+    }
+  }
+
+  /**
+   * Removes all the fragments.
+   */
+  public synchronized void clear() {
+    fragments.clear();
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public synchronized int getSize() {
+    return fragments.size();
+  }
+
+  /**
+   * Returns the number of lookups that returned a cached fragment.
+   *
+   * @return the hit count
+   */
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of lookups that did not return a cached fragment.
+   *
+   * @return the miss count
+   */
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Returns the number of fragments removed from the cache because the cache was full or because they expired.
+   *
+   * @return the eviction count
+   */
+  public synchronized long getEvictions() {
+    return evictions;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[size=" + getSize() + ",hits=" + getHits() + ",misses=" + getMisses() +
+        ",evictions=" + getEvictions() + "]";
+  }
+
+  private static class Key {
+
+    /** . */
+    private final String value;
+
+    /** . */
+    private final Locale locale;
+
+    private Key(String value, Locale locale) {
+      this.value = value;
+      this.locale = locale;
+    }
+
+    @Override
+    public int hashCode() {
+      return value.hashCode() ^ (locale != null ? locale.hashCode() : 0);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      } else if (obj instanceof Key) {
+        Key that = (Key)obj;
+        return value.equals(that.value) && (locale == null ? that.locale == null : locale.equals(that.locale));
+      }
+      return false;
+    }
+  }
+
+  private static class Fragment {
+
+    /** . */
+    private final List<Chunk> chunks;
+
+    /** . */
+    private final long expiration;
+
+    private Fragment(List<Chunk> chunks, long expiration) {
+      this.chunks = chunks;
+      this.expiration = expiration;
+    }
+  }
+}
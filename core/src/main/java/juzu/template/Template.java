@@ -29,6 +29,7 @@ import juzu.impl.request.Request;
 import juzu.impl.plugin.template.TemplatePlugin;
 import juzu.impl.common.Path;
 import juzu.impl.template.spi.TemplateStub;
+import juzu.impl.template.spi.juzu.dialect.gtmpl.MessageCatalog;
 import juzu.impl.template.spi.juzu.dialect.gtmpl.MessageKey;
 import juzu.request.ApplicationContext;
 import juzu.request.MimeContext;
@@ -39,8 +40,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
-import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -321,6 +322,12 @@ public abstract class Template {
     /** The locale. */
     private Locale locale;
 
+    /** The fragment cache key. */
+    private String cacheKey;
+
+    /** The fragment cache time to live in milliseconds. */
+    private long cacheTTL;
+
     private Locale computeLocale() {
       if (locale == null) {
         return Request.getCurrent().getUserContext().getLocale();
@@ -366,16 +373,21 @@ public abstract class Template {
         ) {
 
           /** . */
-          ResourceBundle bundle = null;
+          MessageCatalog catalog = null;
 
           /** . */
-          boolean bundleLoaded = false;
+          boolean catalogLoaded = false;
 
           @Override
           public TemplateStub resolveTemplate(String path) {
             return plugin.resolveTemplateStub(path);
           }
 
+          @Override
+          public FragmentCache resolveFragmentCache() {
+            return plugin.getFragmentCache();
+          }
+
           @Override
           public Object resolveBean(String expression) throws InvocationTargetException {
             return application.resolveBean(expression);
@@ -384,33 +396,32 @@ public abstract class Template {
           @Override
           public String resolveMessage(MessageKey key) {
 
-            // Lazy load the bundle here
-            if (!bundleLoaded) {
-              bundleLoaded = true;
+            // Lazy load the catalog of the bundle here
+            if (!catalogLoaded) {
+              catalogLoaded = true;
               if (locale != null) {
                 ApplicationContext applicationContext = Request.getCurrent().getApplicationContext();
                 if (applicationContext != null) {
-                  bundle = applicationContext.resolveBundle(locale);
+                  ResourceBundle bundle = applicationContext.resolveBundle(locale);
+                  if (bundle != null) {
+                    catalog = MessageCatalog.get(bundle);
+                  }
                 }
               }
             }
 
             //
-            String value = null;
-            if (bundle != null) {
-              try {
-                value = bundle.getString(key.getValue());
-              }
-              catch (MissingResourceException notFound) {
-                // System.out.println("Could not resolve message " + key.getValue());
-              }
-            }
+            String value = catalog != null ? catalog.resolve(key) : null;
             return value != null ? value : "";
           }
         };
 
         //
-        context.render(stream);
+        if (cacheKey != null) {
+          context.render(stream, plugin.getFragmentCache(), cacheKey, cacheTTL);
+        } else {
+          context.render(stream);
+        }
       }
       catch (IOException e) {
         throw new UndeclaredIOException(e);
@@ -428,6 +439,29 @@ public abstract class Template {
       return this;
     }
 
+    /**
+     * Cache the rendered template in the {@link FragmentCache} of the application with the specified key, the
+     * cached fragment is used instead of rendering the template until it expires. The key should identify the
+     * parameters of the rendering as it is the only identifier of the fragment besides the locale.
+     *
+     * @param key the fragment key
+     * @param ttl the fragment time to live, a zero or negative value means the fragment does not expire
+     * @param unit the time to live unit
+     * @return this builder
+     * @throws NullPointerException if the key or the unit is null
+     */
+    public Builder cached(String key, long ttl, TimeUnit unit) throws NullPointerException {
+      if (key == null) {
+        throw new NullPointerException("No null key accepted");
+      }
+      if (unit == null) {
+        throw new NullPointerException("No null unit accepted");
+      }
+      this.cacheKey = key;
+      this.cacheTTL = unit.toMillis(ttl);
+      return this;
+    }
+
     /**
      * Update a parameter, if the value is not null the parameter with the specified name is set, otherwise the
      * parameter is removed. If the parameter is set and a value was set previously, the old value is overwritten
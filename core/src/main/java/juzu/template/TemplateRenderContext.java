@@ -21,12 +21,18 @@ import juzu.PropertyType;
 import juzu.impl.common.Tools;
 import juzu.impl.template.spi.TemplateStub;
 import juzu.impl.template.spi.juzu.dialect.gtmpl.MessageKey;
+import juzu.io.Chunk;
 import juzu.io.OutputStream;
 import juzu.io.Stream;
+import juzu.io.UndeclaredIOException;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
@@ -83,6 +89,9 @@ public class TemplateRenderContext {
     if (properties != null) {
       properties.setValue(PropertyType.TITLE, title);
     }
+    if (printer instanceof Capture) {
+      ((Capture)printer).record(new Chunk.Property<String>(title, PropertyType.TITLE));
+    }
   }
 
   public TemplateStub resolveTemplate(String path) {
@@ -97,6 +106,56 @@ public class TemplateRenderContext {
     return key.toString();
   }
 
+  public FragmentCache resolveFragmentCache() {
+    return null;
+  }
+
+  /**
+   * Renders a body and returns the chunks it produced, the data chunks are provided to the current printer
+   * and the title set by the body is recorded as a property chunk.
+   *
+   * @param body the body to render
+   * @return the captured chunks
+   * @throws IllegalStateException if the context is not rendering
+   */
+  List<Chunk> capture(Renderable body) throws IllegalStateException {
+    if (printer == null) {
+      throw new IllegalStateException("Not rendering");
+    }
+    Capture capture = new Capture(printer);
+    printer = capture;
+    try {
+      body.render(this);
+    }
+    finally {
+      printer = capture.delegate;
+    }
+    return capture.chunks;
+  }
+
+  /**
+   * Replay the chunks returned by {@link #capture(Renderable)}.
+   *
+   * @param chunks the chunks to replay
+   * @throws IllegalStateException if the context is not rendering
+   */
+  void replay(List<Chunk> chunks) throws IllegalStateException {
+    if (printer == null) {
+      throw new IllegalStateException("Not rendering");
+    }
+    for (int i = 0;i < chunks.size();i++) {
+      Chunk chunk = chunks.get(i);
+      if (chunk instanceof Chunk.Property<?>) {
+        Chunk.Property<?> property = (Chunk.Property<?>)chunk;
+        if (property.type == PropertyType.TITLE) {
+          setTitle((String)property.value);
+        }
+      } else {
+        printer.provide(chunk);
+      }
+    }
+  }
+
   public StringBuilder render() throws IOException {
     StringBuilder buffer = new StringBuilder();
     OutputStream consumer = OutputStream.create(Tools.UTF_8, buffer);
@@ -105,6 +164,10 @@ public class TemplateRenderContext {
   }
 
   public void render(Stream printer) throws IOException {
+    render(printer, null, null, 0);
+  }
+
+  void render(Stream printer, FragmentCache cache, String key, long ttl) throws IOException {
     if (this.printer != null) {
       throw new IllegalStateException("Already rendering");
     }
@@ -114,10 +177,91 @@ public class TemplateRenderContext {
 
     //
     try {
-      stub.render(this);
+      if (cache != null) {
+        cache.render(this, key, ttl, new Renderable() {
+          public void render(TemplateRenderContext context) throws TemplateExecutionException, UndeclaredIOException {
+            try {
+              stub.render(context);
+            }
+            catch (IOException e) {
+              throw new UndeclaredIOException(e);
+            }
+          }
+        });
+      } else {
+        stub.render(this);
+      }
     }
     finally {
       this.printer = null;
     }
   }
+
+  private static class Capture implements Stream {
+
+    /** . */
+    private final Stream delegate;
+
+    /** . */
+    private final ArrayList<Chunk> chunks;
+
+    private Capture(Stream delegate) {
+      this.delegate = delegate;
+      this.chunks = new ArrayList<Chunk>();
+    }
+
+    private void record(Chunk.Property<?> property) {
+      chunks.add(property);
+      if (delegate instanceof Capture) {
+        ((Capture)delegate).record(property);
+      }
+    }
+
+    public void provide(Chunk chunk) {
+      try {
+        chunk = materialize(chunk);
+      }
+      catch (IOException e) {
+        throw new UndeclaredIOException(e);
+      }
+      chunks.add(chunk);
+      delegate.provide(chunk);
+    }
+
+    /**
+     * Reads the one shot chunks so the captured chunks can be replayed several times.
+     *
+     * @param chunk the chunk
+     * @return a chunk that can be provided many times
+     * @throws IOException any io exception
+     */
+    private Chunk materialize(Chunk chunk) throws IOException {
+      if (chunk instanceof Chunk.Data.InputStream) {
+        return Chunk.create(Tools.bytes(((Chunk.Data.InputStream)chunk).data));
+      } else if (chunk instanceof Chunk.Data.Readable) {
+        Readable readable = ((Chunk.Data.Readable)chunk).data;
+        try {
+          StringBuilder sb = new StringBuilder();
+          CharBuffer buffer = CharBuffer.allocate(512);
+          for (int i = readable.read(buffer);i != -1;i = readable.read(buffer)) {
+            buffer.flip();
+            sb.append(buffer);
+            buffer.clear();
+          }
+          return Chunk.create(sb.toString());
+        }
+        finally {
+          if (readable instanceof Closeable) {
+            Tools.safeClose((Closeable)readable);
+          }
+        }
+      } else {
+        return chunk;
+      }
+    }
+
+    public void close(Thread.UncaughtExceptionHandler errorHandler) {
+      delegate.close(errorHandler);
+    }
+  }
 }
@@ -17,6 +17,7 @@
 package inject.scope.defaultscope;
 
 import inject.AbstractInjectTestCase;
+import juzu.impl.inject.spi.BeanLifeCycle;
 import juzu.impl.inject.spi.InjectorProvider;
 import org.junit.Test;
 
@@ -38,4 +39,19 @@ public class DefaultScopeTestCase<B, I> extends AbstractInjectTestCase<B, I> {
     Bean bean2 = getBean(Bean.class);
     assertTrue(bean1.count != bean2.count);
   }
+
+  @Test
+  public void testLifeCycle() throws Exception {
+    init();
+    bootstrap.declareBean(Bean.class, null, null, null);
+    boot();
+
+    //
+    BeanLifeCycle<Bean> lifeCycle1 = mgr.get(Bean.class);
+    BeanLifeCycle<Bean> lifeCycle2 = mgr.get(Bean.class);
+    assertNotSame(lifeCycle1, lifeCycle2);
+    assertTrue(lifeCycle1.get().count != lifeCycle2.get().count);
+    lifeCycle1.close();
+    lifeCycle2.close();
+  }
 }
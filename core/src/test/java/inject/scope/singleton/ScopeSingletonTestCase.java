@@ -17,6 +17,7 @@
 package inject.scope.singleton;
 
 import inject.AbstractInjectTestCase;
+import juzu.impl.inject.spi.BeanLifeCycle;
 import juzu.impl.inject.spi.InjectorProvider;
 import org.junit.Test;
 
@@ -38,4 +39,17 @@ public class ScopeSingletonTestCase<B, I> extends AbstractInjectTestCase<B, I> {
     Bean singleton2 = getBean(Bean.class);
     assertSame(singleton1, singleton2);
   }
+
+  @Test
+  public void testLifeCycle() throws Exception {
+    init();
+    bootstrap.declareBean(Bean.class, null, null, null);
+    boot();
+
+    //
+    BeanLifeCycle<Bean> lifeCycle = mgr.get(Bean.class);
+    assertSame(lifeCycle, mgr.get(Bean.class));
+    assertSame(lifeCycle.get(), mgr.resolveInstance(Bean.class));
+    assertSame(lifeCycle, mgr.resolve(Bean.class).iterator().next());
+  }
 }
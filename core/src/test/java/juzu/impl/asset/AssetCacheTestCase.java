@@ -0,0 +1,171 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.asset;
+
+import juzu.asset.AssetLocation;
+import juzu.impl.common.Tools;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+public class AssetCacheTestCase extends AbstractTestCase {
+
+  /** . */
+  private static final String CONTENT;
+
+  static {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0;i < 100;i++) {
+      sb.append("function foo() { return 'bar'; }\n");
+    }
+    CONTENT = sb.toString();
+  }
+
+  private AssetManager createManager(String... paths) throws Exception {
+    AssetManager manager = new AssetManager();
+    for (String path : paths) {
+      File f = File.createTempFile("asset", ".js");
+      f.deleteOnExit();
+      Tools.write(CONTENT, f);
+      manager.addAsset(new AssetMetaData(path, AssetLocation.APPLICATION, path), f.toURI().toURL());
+    }
+    return manager;
+  }
+
+  @Test
+  public void testParseSize() {
+    assertEquals(AssetCache.DEFAULT_SIZE, AssetCache.parseSize(null));
+    assertEquals(100, AssetCache.parseSize("100"));
+    assertEquals(2 * 1024, AssetCache.parseSize("2k"));
+    assertEquals(3 * 1024 * 1024, AssetCache.parseSize(" 3M "));
+    assertEquals(1024L * 1024 * 1024, AssetCache.parseSize("1g"));
+    try {
+      AssetCache.parseSize("foo");
+      fail();
+    }
+    catch (IllegalArgumentException ignore) {
+    }
+    try {
+      AssetCache.parseSize("-1");
+      fail();
+    }
+    catch (IllegalArgumentException ignore) {
+    }
+  }
+
+  @Test
+  public void testEncoding() throws Exception {
+    AssetCache cache = new AssetCache();
+    AssetManager manager = createManager("/foo.js");
+    cache.load(this, manager);
+    AssetCache.Entry entry = cache.get("/foo.js");
+    assertNotNull(entry);
+    assertSame(manager.resolveFingerprint("/foo.js"), entry.getFingerprint());
+    assertTrue(entry.isCompressed());
+
+    //
+    assertEquals(null, entry.selectEncoding(null));
+    assertEquals(null, entry.selectEncoding("identity"));
+    assertEquals("gzip", entry.selectEncoding("gzip, deflate"));
+    assertEquals("gzip", entry.selectEncoding("deflate;q=0.5, GZIP"));
+    assertEquals("deflate", entry.selectEncoding("gzip;q=0, deflate"));
+    assertEquals(null, entry.selectEncoding("gzip;q=0.0,deflate; q=0"));
+
+    //
+    assertEquals(CONTENT, new String(write(entry, null)));
+    byte[] gzip = write(entry, "gzip");
+    assertEquals(gzip.length, entry.getLength("gzip"));
+    assertTrue(gzip.length < CONTENT.length());
+    assertEquals(CONTENT, new String(Tools.bytes(new GZIPInputStream(new ByteArrayInputStream(gzip)))));
+    byte[] deflate = write(entry, "deflate");
+    assertEquals(CONTENT, new String(Tools.bytes(new InflaterInputStream(new ByteArrayInputStream(deflate)))));
+    assertEquals(CONTENT.length() + gzip.length + deflate.length, cache.getSize());
+  }
+
+  @Test
+  public void testMaxSize() throws Exception {
+    AssetCache cache = new AssetCache(CONTENT.length() + CONTENT.length() / 2, AssetCache.DEFAULT_MAPPING_THRESHOLD);
+    cache.load(this, createManager("/foo.js", "/bar.js"));
+    AssetCache.Entry foo = cache.get("/foo.js");
+    AssetCache.Entry bar = cache.get("/bar.js");
+    assertTrue(foo == null ^ bar == null);
+    assertTrue(cache.getSize() <= cache.getMaxSize());
+  }
+
+  @Test
+  public void testMapping() throws Exception {
+    AssetCache cache = new AssetCache(AssetCache.DEFAULT_SIZE, 16);
+    cache.load(this, createManager("/foo.js"));
+    AssetCache.Entry entry = cache.get("/foo.js");
+    assertNotNull(entry);
+    assertFalse(entry.isCompressed());
+    assertEquals(null, entry.selectEncoding("gzip"));
+    assertEquals(CONTENT.length(), entry.getLength(null));
+    assertEquals(CONTENT, new String(write(entry, null)));
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void testUnload() throws Exception {
+    AssetCache cache = new AssetCache();
+    Object owner = new Object();
+    cache.load(this, createManager("/foo.js"));
+    cache.load(owner, createManager("/bar.js"));
+    long size = cache.getSize();
+    cache.unload(owner);
+    assertNotNull(cache.get("/foo.js"));
+    assertNull(cache.get("/bar.js"));
+    assertEquals(size / 2, cache.getSize());
+    cache.unload(this);
+    assertNull(cache.get("/foo.js"));
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void testReplace() throws Exception {
+    AssetCache cache = new AssetCache();
+    Object previous = new Object();
+    Object next = new Object();
+    cache.load(previous, createManager("/foo.js"));
+    AssetManager manager = createManager("/foo.js");
+    cache.load(next, manager);
+    AssetCache.Entry entry = cache.get("/foo.js");
+    assertNotNull(entry);
+    assertSame(manager.resolveFingerprint("/foo.js"), entry.getFingerprint());
+    long size = cache.getSize();
+
+    // Unloading the replaced owner keeps the entries of the new owner
+    cache.unload(previous);
+    assertSame(entry, cache.get("/foo.js"));
+    assertEquals(size, cache.getSize());
+    cache.unload(next);
+    assertNull(cache.get("/foo.js"));
+    assertEquals(0, cache.getSize());
+  }
+
+  private byte[] write(AssetCache.Entry entry, String encoding) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    entry.write(encoding, out);
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.asset;
+
+import juzu.asset.AssetLocation;
+import juzu.impl.common.Tools;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.io.File;
+
+/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+public class AssetFingerprintTestCase extends AbstractTestCase {
+
+  @Test
+  public void testHash() {
+    assertEquals("d41d8cd98f00b204e9800998ecf8427e", AssetFingerprint.hash(new byte[0]));
+    assertEquals("acbd18db4cc2f85cedef654fccc4a4d8", AssetFingerprint.hash("foo".getBytes()));
+  }
+
+  @Test
+  public void testMatches() {
+    AssetFingerprint fingerprint = new AssetFingerprint("abc", 0);
+    assertEquals("\"abc\"", fingerprint.getETag());
+    assertTrue(fingerprint.matches("\"abc\""));
+    assertTrue(fingerprint.matches("W/\"abc\""));
+    assertTrue(fingerprint.matches("\"def\", \"abc\""));
+    assertTrue(fingerprint.matches("*"));
+    assertFalse(fingerprint.matches("\"def\""));
+    assertFalse(fingerprint.matches("abc"));
+  }
+
+  @Test
+  public void testNotModifiedSince() {
+    AssetFingerprint fingerprint = new AssetFingerprint("abc", 10500);
+    assertTrue(fingerprint.isNotModifiedSince(10000));
+    assertTrue(fingerprint.isNotModifiedSince(11000));
+    assertFalse(fingerprint.isNotModifiedSince(9000));
+    assertFalse(fingerprint.isNotModifiedSince(-1));
+    assertFalse(new AssetFingerprint("abc", 0).isNotModifiedSince(10000));
+  }
+
+  @Test
+  public void testResolve() throws Exception {
+    File f = File.createTempFile("asset", ".js");
+    f.deleteOnExit();
+    Tools.write("foo", f);
+    AssetManager manager = new AssetManager();
+    manager.addAsset(new AssetMetaData("foo", AssetLocation.APPLICATION, "/foo.js"), f.toURI().toURL());
+    AssetFingerprint fingerprint = manager.resolveFingerprint("/foo.js");
+    assertNotNull(fingerprint);
+    assertEquals("acbd18db4cc2f85cedef654fccc4a4d8", fingerprint.getHash());
+    assertEquals(f.lastModified() / 1000, fingerprint.getLastModified() / 1000);
+
+    // The fingerprint is computed once
+    Tools.write("bar", f);
+    assertSame(fingerprint, manager.resolveFingerprint("/foo.js"));
+
+    //
+    assertNull(manager.resolveFingerprint("/bar.js"));
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package juzu.impl.bridge.module;
+
+import juzu.impl.asset.AssetServer;
+import juzu.impl.bridge.BridgeConfig;
+import juzu.impl.bridge.BridgeContext;
+import juzu.impl.bridge.spi.web.Handler;
+import juzu.impl.common.Logger;
+import juzu.impl.common.Tools;
+import juzu.impl.fs.spi.ReadFileSystem;
+import juzu.impl.plugin.application.Application;
+import juzu.impl.resource.ResourceResolver;
+import juzu.test.AbstractTestCase;
+import juzu.test.CompilerAssert;
+import org.junit.Test;
+
+import java.io.File;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+public class BackgroundCompilationTestCase extends AbstractTestCase {
+
+  @Test
+  public void testSwap() throws Exception {
+    CompilerAssert<File, File> helper = compiler("plugin.template.simple");
+    final ReadFileSystem<File> sourcePath = helper.getSourcePath();
+    final Map<String, String> parameters = new HashMap<String, String>();
+    parameters.put(BridgeConfig.RUN_MODE, "live");
+    parameters.put(BridgeConfig.BACKGROUND_COMPILATION, "true");
+    final Map<String, Object> attributes = new ConcurrentHashMap<String, Object>();
+    BridgeContext context = new BridgeContext() {
+      public ReadFileSystem<?> getClassPath() {
+        throw new UnsupportedOperationException();
+      }
+      public ReadFileSystem<?> getSourcePath() {
+        return sourcePath;
+      }
+      public ReadFileSystem<?> getResourcePath() {
+        return sourcePath;
+      }
+      public ClassLoader getClassLoader() {
+        return Thread.currentThread().getContextClassLoader();
+      }
+      public String getInitParameter(String name) {
+        return parameters.get(name);
+      }
+      public ResourceResolver getResolver() {
+        return null;
+      }
+      public Object getAttribute(String key) {
+        return attributes.get(key);
+      }
+      public void setAttribute(String key, Object value) {
+        attributes.put(key, value);
+      }
+    };
+    final AtomicInteger failures = new AtomicInteger();
+    Logger log = new Logger() {
+      public void log(CharSequence msg) {
+      }
+      public void log(CharSequence msg, Throwable t) {
+        failures.incrementAndGet();
+      }
+    };
+    final CopyOnWriteArrayList<Application> closed = new CopyOnWriteArrayList<Application>();
+    AssetServer server = new AssetServer() {
+      @Override
+      public void unregister(Application application) {
+        closed.add(application);
+        super.unregister(application);
+      }
+    };
+    ResourceResolver resolver = new ResourceResolver() {
+      public URL resolve(String uri) {
+        return null;
+      }
+    };
+    Map<String, String> config = new HashMap<String, String>();
+    config.put(BridgeConfig.APP_NAME, "plugin.template.simple");
+    ApplicationBridge bridge = new ApplicationBridge(context, log, new BridgeConfig(config), server, resolver);
+    bridge.delay = 0;
+    try {
+
+      //
+      assertTrue(bridge.getBackground());
+      assertTrue(bridge.refresh());
+      Application first = bridge.getApplication();
+      Handler handler = new Handler(bridge);
+
+      // A request in flight on the first generation
+      assertTrue(handler.acquire());
+
+      // Update a java source, the next build swaps the generation
+      File a = sourcePath.getPath("plugin", "template", "simple", "A.java");
+      String source = Tools.read(a);
+      Tools.write(source.replace("template.ok()", "template.with().ok()"), a);
+      bridge.build();
+      Application second = bridge.getApplication();
+      assertNotSame(first, second);
+      assertTrue(bridge.refresh());
+      handler.close();
+
+      // The first generation remains open until the request in flight finishes
+      assertFalse(closed.contains(first));
+      handler.release();
+      assertTrue(closed.contains(first));
+      assertFalse(handler.acquire());
+
+      // A compilation error keeps the second generation in service, the sources are not compiled again
+      // until they change
+      handler = new Handler(bridge);
+      assertSame(second, handler.getApplication());
+      Tools.write("package plugin.template.simple; public class A {", a);
+      bridge.build();
+      assertEquals(1, failures.get());
+      bridge.build();
+      assertEquals(1, failures.get());
+      assertFalse(bridge.refresh());
+      assertSame(second, bridge.getApplication());
+      assertFalse(closed.contains(second));
+      assertTrue(handler.acquire());
+      handler.release();
+
+      // Fixing the error builds the next generation
+      Tools.write(source, a);
+      bridge.build();
+      assertEquals(1, failures.get());
+      Application third = bridge.getApplication();
+      assertNotSame(second, third);
+      assertTrue(bridge.refresh());
+      handler.close();
+      assertTrue(closed.contains(second));
+
+      // A generation that cannot be created is not attempted again until the sources change
+      handler = new Handler(bridge);
+      File pkg = sourcePath.getPath("plugin", "template", "simple", "package-info.java");
+      Tools.write(Tools.read(pkg).replace("@Application package", "package"), pkg);
+      Tools.write("package plugin.template.simple; public class A {}", a);
+      bridge.build();
+      assertEquals(2, failures.get());
+      bridge.build();
+      assertEquals(2, failures.get());
+      assertFalse(bridge.refresh());
+      assertSame(third, bridge.getApplication());
+      assertTrue(handler.acquire());
+      handler.release();
+      handler.close();
+    }
+    finally {
+      bridge.close();
+    }
+  }
+}
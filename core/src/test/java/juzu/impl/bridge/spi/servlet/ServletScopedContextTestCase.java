@@ -0,0 +1,122 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.bridge.spi.servlet;
+
+import juzu.impl.common.Logger;
+import juzu.impl.inject.Scoped;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+public class ServletScopedContextTestCase extends AbstractTestCase {
+
+  private static class Value implements Scoped {
+    boolean destroyed;
+    public Object get() {
+      return this;
+    }
+    public void destroy() {
+      destroyed = true;
+    }
+  }
+
+  /** A key with colliding hash codes. */
+  private static class Key {
+    final int value;
+    Key(int value) {
+      this.value = value;
+    }
+    @Override
+    public int hashCode() {
+      return value % 3;
+    }
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Key && ((Key)obj).value == value;
+    }
+  }
+
+  @Test
+  public void testSetGet() {
+    ServletScopedContext context = new ServletScopedContext(Logger.SYSTEM);
+    assertEquals(0, context.size());
+    assertNull(context.get("foo"));
+    assertFalse(context.iterator().hasNext());
+    Value foo = new Value();
+    context.set("foo", foo);
+    assertEquals(1, context.size());
+    assertSame(foo, context.get("foo"));
+    Value bar = new Value();
+    context.set("foo", bar);
+    assertEquals(1, context.size());
+    assertSame(bar, context.get("foo"));
+    context.set("foo", null);
+    assertEquals(0, context.size());
+    assertNull(context.get("foo"));
+    try {
+      context.get(null);
+      fail();
+    }
+    catch (NullPointerException ignore) {
+    }
+  }
+
+  @Test
+  public void testRandom() {
+    ServletScopedContext context = new ServletScopedContext(Logger.SYSTEM);
+    HashMap<Key, Value> expected = new HashMap<Key, Value>();
+    Random random = new Random(0);
+    for (int i = 0;i < 10000;i++) {
+      Key key = new Key(random.nextInt(40));
+      if (random.nextInt(3) == 0) {
+        context.set(key, null);
+        expected.remove(key);
+      } else {
+        Value value = new Value();
+        context.set(key, value);
+        expected.put(key, value);
+      }
+      assertEquals(expected.size(), context.size());
+      for (int j = 0;j < 40;j++) {
+        assertSame(expected.get(new Key(j)), context.get(new Key(j)));
+      }
+    }
+    HashSet<Scoped> values = new HashSet<Scoped>();
+    for (Scoped scoped : context) {
+      values.add(scoped);
+    }
+    assertEquals(new HashSet<Scoped>(expected.values()), values);
+  }
+
+  @Test
+  public void testClose() {
+    ServletScopedContext context = new ServletScopedContext(Logger.SYSTEM);
+    Value[] values = new Value[10];
+    for (int i = 0;i < values.length;i++) {
+      context.set(i, values[i] = new Value());
+    }
+    context.close();
+    assertEquals(0, context.size());
+    for (Value value : values) {
+      assertTrue(value.destroyed);
+    }
+  }
+}
@@ -27,6 +27,7 @@ import juzu.impl.fs.spi.jar.JarFileSystem;
 import juzu.impl.fs.spi.ram.RAMFileSystem;
 import juzu.impl.common.Content;
 import juzu.impl.common.Tools;
+import juzu.impl.compiler.file.IndexedFileManager;
 import juzu.impl.metamodel.AnnotationState;
 import juzu.test.AbstractTestCase;
 import juzu.test.CompilerAssert;
@@ -200,6 +201,35 @@ public class CompilationTestCase extends AbstractTestCase {
     processor.assertResource("the_resource");
   }
 
+  @Test
+  public void testGetResourceFromSharedClassPath() throws Exception {
+    File fic = File.createTempFile("test", ".jar");
+    fic.deleteOnExit();
+    JavaArchive jar = ShrinkWrap.create(JavaArchive.class);
+    jar.addAsResource(new StringAsset("the_resource"), "resource.txt");
+    jar.as(ZipExporter.class).exportTo(fic, true);
+    IndexedFileManager<String> classpath = new IndexedFileManager<String>(StandardLocation.CLASS_PATH, new JarFileSystem(new JarFile(fic)));
+    for (int i = 0;i < 2;i++) {
+      RAMFileSystem output = new RAMFileSystem();
+      Compiler compiler = Compiler.builder().
+          javaCompiler(compilerProvider).
+          config(new CompilerConfig().force(true)).
+          addClassPath(classpath).
+          sourcePath(new RAMFileSystem()).
+          output(output).build();
+      GetResource processor = new GetResource(StandardLocation.CLASS_PATH, FileKey.newResourceName("", "resource.txt"));
+      compiler.addAnnotationProcessor(processor);
+      compiler.compile();
+      processor.assertResource("the_resource");
+    }
+
+    // The manager does not keep the file objects and their content
+    FileKey key = FileKey.newResourceName("", "resource.txt");
+    assertNotNull(classpath.getReadable(key));
+    assertNotSame(classpath.getReadable(key), classpath.getReadable(key));
+    assertNull(classpath.getReadable(FileKey.newResourceName("", "missing.txt")));
+  }
+
   // For now we don't support this until we figure the feature fully
   public void _testChange() throws Exception {
     RAMFileSystem ramFS = new RAMFileSystem();
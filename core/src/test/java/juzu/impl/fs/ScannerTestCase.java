@@ -68,6 +68,35 @@ public class ScannerTestCase extends AbstractTestCase {
     assertEquals(Collections.<String, Change>emptyMap(), snapshot.getChanges());
   }
 
+  @Test
+  public void testHybrid() throws IOException {
+    RAMFileSystem fs = new RAMFileSystem();
+    FileSystemScanner<String[]> scanner = FileSystemScanner.createHybrid(fs);
+
+    //
+    Snapshot<String[]> snapshot = scanner.take();
+    String[] bar = fs.makePath(fs.makePath(fs.getRoot(), "foo"), "bar.txt");
+    fs.setContent(bar, new Content("value"));
+    waitForOneMillis();
+    snapshot = snapshot.scan();
+    assertEquals(Collections.singletonMap("/foo/bar.txt", Change.ADD), snapshot.getChanges());
+
+    // Same content with a new timestamp
+    fs.setContent(bar, new Content("value"));
+    waitForOneMillis();
+    snapshot = snapshot.scan();
+    assertEquals(Collections.<String, Change>emptyMap(), snapshot.getChanges());
+
+    //
+    fs.setContent(bar, new Content("other"));
+    waitForOneMillis();
+    snapshot = snapshot.scan();
+    assertEquals(Collections.singletonMap("/foo/bar.txt", Change.UPDATE), snapshot.getChanges());
+    waitForOneMillis();
+    snapshot = snapshot.scan();
+    assertEquals(Collections.<String, Change>emptyMap(), snapshot.getChanges());
+  }
+
   @Test
   public void testIgnoreHiddenFile() throws IOException {
     RAMFileSystem fs = new RAMFileSystem();
@@ -31,7 +31,21 @@ public abstract class AbstractAMDTestCase extends AbstractWebTestCase {
   protected void assertList(List<?> expected, List<?> actual) {
     assertEquals(expected.size(), actual.size());
     for(int i = 0; i < expected.size(); i++) {
-      assertEquals(expected.get(i), actual.get(i));
+      assertEquals(expected.get(i), unversioned(actual.get(i)));
     }
   }
+
+  /**
+   * Remove the fingerprint version of an asset url.
+   */
+  private Object unversioned(Object url) {
+    if (url instanceof String) {
+      String s = (String)url;
+      int pos = s.indexOf("?v=");
+      if (pos != -1) {
+        return s.substring(0, pos);
+      }
+    }
+    return url;
+  }
 }
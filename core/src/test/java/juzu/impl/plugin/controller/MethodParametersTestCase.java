@@ -17,6 +17,9 @@
 package juzu.impl.plugin.controller;
 
 import juzu.impl.inject.spi.InjectorProvider;
+import juzu.impl.request.ControlParameter;
+import juzu.impl.request.Method;
+import juzu.impl.request.PhaseParameter;
 import juzu.test.AbstractInjectTestCase;
 import juzu.test.protocol.mock.MockActionBridge;
 import juzu.test.protocol.mock.MockApplication;
@@ -93,11 +96,24 @@ public class MethodParametersTestCase extends AbstractInjectTestCase {
   public void testBean() throws Exception {
     MockApplication<?> app = application("plugin.controller.method.parameters.bean").init();
 
+    // The bean parameters are bound by generated binders
+    int count = 0;
+    for (Method<?> method : app.getLifeCycle().resolveBean(ControllerPlugin.class).getDescriptor().getMethods()) {
+      for (ControlParameter parameter : method.getParameters()) {
+        if (parameter.getType().getSimpleName().equals("B")) {
+          assertNotNull(((PhaseParameter)parameter).getBinder());
+          count++;
+        }
+      }
+    }
+    assertEquals(18, count);
+
     //
     MockClient client = app.client();
 
     //
     assertBean(client, "a", "v");
+    // The b property has a String setter overload
     assertBean(client, "b", Arrays.asList("v1", "v2").toString());
     assertBean(client, "c", Arrays.asList("v1", "v2").toString());
     assertBean(client, "d", "v");
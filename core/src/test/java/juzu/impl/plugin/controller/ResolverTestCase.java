@@ -70,6 +70,15 @@ public class ResolverTestCase extends AbstractTestCase {
     }
     catch (AmbiguousResolutionException e) {
     }
+
+    //
+    resolver.index();
+    try {
+      resolver.resolve(Phase.VIEW, Collections.<String>emptySet());
+      fail();
+    }
+    catch (AmbiguousResolutionException e) {
+    }
   }
 
   /**
@@ -91,6 +100,10 @@ public class ResolverTestCase extends AbstractTestCase {
     Method method = resolver.resolve(Phase.VIEW, Collections.<String>emptySet());
     assertEquals("index", method.getName());
     assertSame(aClass, method.getMethod().getDeclaringClass());
+
+    //
+    resolver.index();
+    assertSame(method, resolver.resolve(Phase.VIEW, Collections.<String>emptySet()));
   }
 
 
@@ -108,6 +121,14 @@ public class ResolverTestCase extends AbstractTestCase {
     ApplicationDescriptor desc = ApplicationDescriptor.create(appClass);
     ControllersDescriptor controllerDesc = new ControllersDescriptor(desc);
     ControllerResolver<Method> resolver = controllerDesc.getResolver();
+    assertOverload(resolver);
+
+    //
+    resolver.index();
+    assertOverload(resolver);
+  }
+
+  private void assertOverload(ControllerResolver<Method> resolver) throws Exception {
 
     //
     Method method = resolver.resolveMethod(Phase.VIEW, "A.m", Tools.<String>set());
@@ -16,7 +16,9 @@
 
 package juzu.impl.plugin.template;
 
+import juzu.impl.compiler.CompilationError;
 import juzu.impl.inject.spi.InjectorProvider;
+import juzu.impl.plugin.template.metamodel.TemplateMetaModel;
 import juzu.impl.template.spi.EmitContext;
 import juzu.impl.template.spi.juzu.dialect.gtmpl.GroovyTemplateEmitter;
 import juzu.impl.template.spi.juzu.ast.ASTNode;
@@ -26,15 +28,19 @@ import juzu.impl.template.spi.juzu.compiler.ProcessPhase;
 import juzu.impl.template.spi.Template;
 import juzu.impl.plugin.template.metadata.TemplateDescriptor;
 import juzu.impl.common.Path;
+import juzu.template.FragmentCache;
 import juzu.test.AbstractInjectTestCase;
+import juzu.test.CompilerAssert;
 import juzu.test.protocol.mock.MockApplication;
 import juzu.test.protocol.mock.MockClient;
 import juzu.test.protocol.mock.MockRenderBridge;
 import org.junit.Test;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.List;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class TagTestCase extends AbstractInjectTestCase {
@@ -74,6 +80,11 @@ public class TagTestCase extends AbstractInjectTestCase {
     MockRenderBridge render = client.render();
     String out = render.assertStringResult();
     assertEquals("foo", out);
+
+    // Render with the included template linked by the shared tag handler
+    render = client.render();
+    out = render.assertStringResult();
+    assertEquals("foo", out);
   }
 
   @Test
@@ -89,6 +100,46 @@ public class TagTestCase extends AbstractInjectTestCase {
     assertEquals("4", render.getTitle());
   }
 
+  @Test
+  public void testCache() throws Exception {
+    MockApplication<?> app = application("plugin.template.tag.cache").init();
+    FragmentCache cache = app.getLifeCycle().resolveBean(FragmentCache.class);
+    assertNotNull(cache);
+
+    //
+    MockClient client = app.client();
+    MockRenderBridge render = client.render();
+    assertEquals("value_0", render.assertStringResult());
+    assertEquals("title_0", render.getTitle());
+    render = client.render();
+    assertEquals("value_0", render.assertStringResult());
+    assertEquals("title_0", render.getTitle());
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+
+    //
+    render = client.render("A.builder");
+    assertEquals("value_2", render.assertStringResult());
+    assertEquals("title_2", render.getTitle());
+    render = client.render("A.builder");
+    assertEquals("value_2", render.assertStringResult());
+    assertEquals("title_2", render.getTitle());
+    assertEquals(2, cache.getHits());
+    assertEquals(2, cache.getMisses());
+    assertEquals(2, cache.getSize());
+  }
+
+  @Test
+  public void testCacheIllegalTTL() throws Exception {
+    CompilerAssert<File, File> compiler = compiler("plugin.template.tag.cachettl");
+    compiler.formalErrorReporting(true);
+    List<CompilationError> errors = compiler.failCompile();
+    assertEquals(1, errors.size());
+    CompilationError error = errors.get(0);
+    assertEquals(TemplateMetaModel.CACHE_ILLEGAL_TTL, error.getCode());
+    assertEquals("one_minute", error.getArguments().get(0));
+  }
+
   @Test
   public void testParam() throws Exception {
     if (getDI() != InjectorProvider.INJECT_GUICE) {
@@ -18,7 +18,9 @@ package juzu.impl.router;
 
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 
 /**
  * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
@@ -120,4 +122,33 @@ public class RenderTestCase extends AbstractControllerTestCase {
     //
     assertEquals("/abc", r.matches(Collections.singletonMap(Names.A, "b")).render());
   }
+
+  @Test
+  public void testRepeatedRender() throws Exception {
+    Router router = new Router();
+    Route r = router.append("/a/{p}", Collections.singletonMap(Names.P, PathParam.matching("[0-9]+")));
+    Route s = router.append("/b/c");
+
+    //
+    for (int j = 0;j < 2;j++) {
+      for (int i = 0;i < 1000;i++) {
+        assertEquals("/a/" + i, r.matches(Collections.singletonMap(Names.P, "" + i)).render());
+        assertNull(r.matches(Collections.singletonMap(Names.P, "x" + i)));
+        assertEquals("/b/c", s.matches(Collections.<String, String>emptyMap()).render());
+      }
+    }
+  }
+
+  @Test
+  public void testPathParamNames() throws Exception {
+    Router router = new Router();
+    Route a = router.append("/{a}");
+    Route b = a.append("/{b}");
+    Route c = router.append("/c");
+
+    //
+    assertEquals(Collections.singleton(Names.A), a.getPathParamNames());
+    assertEquals(new HashSet<String>(Arrays.asList(Names.A, Names.B)), b.getPathParamNames());
+    assertEquals(Collections.<String>emptySet(), c.getPathParamNames());
+  }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.router;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+public class RouteTrieTestCase extends AbstractControllerTestCase {
+
+  @Test
+  public void testManySegments() throws Exception {
+    RouterAssert router = new RouterAssert();
+    Route[] routes = new Route[200];
+    for (int i = 0;i < routes.length;i++) {
+      routes[i] = router.append("/a" + i + "/b" + (i % 10));
+    }
+    for (int i = 0;i < routes.length;i++) {
+      router.assertRoute(routes[i], "/a" + i + "/b" + (i % 10));
+      assertNull(router.compile().route("/a" + i + "/c"));
+    }
+    assertNull(router.compile().route("/a200/b0"));
+  }
+
+  @Test
+  public void testSegmentsAndPatternsPriority() throws Exception {
+    RouterAssert router = new RouterAssert();
+    Route a = router.append("/foo/bar");
+    Route b = router.append("/{p}/bar");
+    Route c = router.append("/foo/{q}");
+    Route d = router.append("/foo");
+
+    //
+    router.assertRoute(a, "/foo/bar");
+    router.assertRoute(b, "/juu/bar");
+    router.assertRoute(c, "/foo/juu");
+    router.assertRoute(d, "/foo");
+    router.assertRoutes(Collections.<Route>singletonList(d), "/foo");
+    router.assertRoutes(Arrays.asList(a, b, c), "/foo/bar");
+  }
+
+  @Test
+  public void testSameSegmentNames() throws Exception {
+    RouterAssert router = new RouterAssert();
+    Route a = router.append("/foo/bar");
+    router.append("/{p}");
+    Route b = router.append("/foo/juu");
+
+    //
+    router.assertRoute(a, "/foo/bar");
+    router.assertRoute(b, "/foo/juu");
+  }
+
+  @Test
+  public void testEscapedSeparator() throws Exception {
+    RouterAssert router = new RouterAssert();
+    Route a = router.append("/a/{p}");
+
+    //
+    Map<String, String> expected = new HashMap<String, String>();
+    expected.put(Names.P, "b/c");
+    router.assertRoute(a, expected, "/a/b_c");
+    expected.put(Names.P, "b_c");
+    router.assertRoute(a, expected, "/a/b%5Fc");
+  }
+
+  @Test
+  public void testSnapshot() throws Exception {
+    Router router = new Router();
+    router.append("/a");
+    RouteTrie trie = router.compile();
+    router.append("/b");
+
+    //
+    assertNotNull(trie.route("/a"));
+    assertNull(trie.route("/b"));
+    assertNotNull(router.compile().route("/b"));
+  }
+}
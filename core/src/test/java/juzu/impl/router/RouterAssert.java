@@ -17,6 +17,7 @@
 package juzu.impl.router;
 
 import junit.framework.Assert;
+import juzu.impl.common.Tools;
 import juzu.impl.router.regex.REFactory;
 import juzu.test.AbstractTestCase;
 
@@ -41,6 +42,29 @@ public class RouterAssert extends Router {
     super(separatorEscape, regexFactory);
   }
 
+  /**
+   * Route the path with the route matcher and checks the compiled route trie yields the same matches.
+   */
+  private Iterator<RouteMatch> match(String path, Map<String, String[]> parameters) {
+    List<RouteMatch> expected = Tools.list(matcher(path, parameters));
+    RouteTrie trie = compile();
+    List<RouteMatch> actual = Tools.list(trie.matcher(path, parameters));
+    Assert.assertEquals("Unexpected matches for " + path, expected.size(), actual.size());
+    for (int i = 0;i < expected.size();i++) {
+      Assert.assertSame(expected.get(i).getRoute(), actual.get(i).getRoute());
+      Assert.assertEquals(expected.get(i).getMatched(), actual.get(i).getMatched());
+    }
+    RouteMatch first = trie.route(path);
+    if (expected.isEmpty()) {
+      Assert.assertNull(first);
+    } else {
+      Assert.assertNotNull(first);
+      Assert.assertSame(expected.get(0).getRoute(), first.getRoute());
+      Assert.assertEquals(expected.get(0).getMatched(), first.getMatched());
+    }
+    return expected.iterator();
+  }
+
   private ArrayList<Map<String, String>> foo(String path, Map<String, String> parameters) {
 
     // Convert
@@ -50,7 +74,7 @@ public class RouterAssert extends Router {
     }
 
     //
-    Iterator<RouteMatch> result = matcher(path, tmp);
+    Iterator<RouteMatch> result = match(path, tmp);
 
     //
     ArrayList<Map<String, String>> a = new ArrayList<Map<String, String>>();
@@ -93,7 +117,7 @@ public class RouterAssert extends Router {
     }
 
     //
-    Iterator<RouteMatch> result = matcher(path, tmp);
+    Iterator<RouteMatch> result = match(path, tmp);
 
     //
     Assert.assertTrue(result.hasNext());
@@ -111,7 +135,7 @@ public class RouterAssert extends Router {
   }
 
   public void assertRoutes(Iterable<Route> expected, String path) {
-    Iterator<RouteMatch> matches = matcher(path, Collections.<String, String[]>emptyMap());
+    Iterator<RouteMatch> matches = match(path, Collections.<String, String[]>emptyMap());
     List<Route> routes = new ArrayList<Route>();
     while (matches.hasNext()) {
       routes.add(matches.next().getRoute());
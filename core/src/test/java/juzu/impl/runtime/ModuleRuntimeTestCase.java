@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.runtime;
+
+import juzu.impl.common.Logger;
+import juzu.impl.common.Timestamped;
+import juzu.impl.common.Tools;
+import juzu.impl.common.Content;
+import juzu.impl.fs.spi.ReadFileSystem;
+import juzu.test.AbstractTestCase;
+import juzu.test.CompilerAssert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+
+/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+public class ModuleRuntimeTestCase extends AbstractTestCase {
+
+  @Test
+  public void testUpdateTemplate() throws Exception {
+    CompilerAssert<File, File> helper = compiler("plugin.template.simple");
+    ModuleRuntime.Dynamic<File> runtime = new ModuleRuntime.Dynamic<File>(Logger.SYSTEM, Thread.currentThread().getContextClassLoader(), helper.getSourcePath());
+    assertTrue(runtime.refresh(true));
+    ClassLoader classLoader = runtime.getClassLoader();
+    int revision = runtime.getRevision();
+
+    // Update the template
+    File index = helper.getSourcePath().getPath("plugin", "template", "simple", "templates", "index.gtmpl");
+    Tools.write("<% out.print('bye') %>", index);
+    assertTrue(runtime.refresh(true));
+    assertSame(classLoader, runtime.getClassLoader());
+    assertEquals(Collections.singleton("/plugin/template/simple/templates/index.gtmpl"), runtime.getUpdates(revision));
+    ReadFileSystem<String[]> classes = runtime.getClasses();
+    Timestamped<Content> script = classes.getContent(classes.getPath("plugin", "template", "simple", "templates", "index_.groovy"));
+    assertTrue(script.getObject().getCharSequence().toString().contains("bye"));
+    assertFalse(runtime.refresh(true));
+
+    // Update a java source
+    File a = helper.getSourcePath().getPath("plugin", "template", "simple", "A.java");
+    Tools.write(Tools.read(a).replace("template.ok()", "template.with().ok()"), a);
+    assertTrue(runtime.refresh(true));
+    assertNotSame(classLoader, runtime.getClassLoader());
+    assertEquals(Collections.<String>emptySet(), runtime.getUpdates(revision));
+  }
+}
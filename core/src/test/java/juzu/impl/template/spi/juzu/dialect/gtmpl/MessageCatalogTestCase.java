@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package juzu.impl.template.spi.juzu.dialect.gtmpl;
+
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.util.ListResourceBundle;
+import java.util.ResourceBundle;
+
+/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+public class MessageCatalogTestCase extends AbstractTestCase {
+
+  private static ResourceBundle bundle(final ResourceBundle parent, final Object[][] contents) {
+    return new ListResourceBundle() {
+      {
+        setParent(parent);
+      }
+      @Override
+      protected Object[][] getContents() {
+        return contents;
+      }
+    };
+  }
+
+  @Test
+  public void testResolve() {
+    MessageKey foo = new MessageKey("foo");
+    ResourceBundle parent = bundle(null, new Object[][]{{"foo", "foo_parent"}, {"bar", "bar_parent"}});
+    ResourceBundle bundle = bundle(parent, new Object[][]{{"foo", "foo_value"}, {"number", 3}});
+    MessageCatalog catalog = new MessageCatalog(bundle);
+    assertEquals("foo_value", catalog.resolve(foo));
+    assertEquals("bar_parent", catalog.resolve(new MessageKey("bar")));
+    assertEquals(null, catalog.resolve(new MessageKey("number")));
+    assertEquals(null, catalog.resolve(new MessageKey("juu")));
+    assertEquals(null, new MessageCatalog(bundle(null, new Object[0][])).resolve(foo));
+  }
+
+  @Test
+  public void testUnusedKeys() {
+    int count = MessageKey.count();
+    MessageCatalog catalog = new MessageCatalog(bundle(null, new Object[][]{{"catalog_only", "value"}}));
+    assertEquals(count, MessageKey.count());
+    assertEquals(-1, MessageKey.lookup("catalog_only"));
+
+    // A key created after the catalog was compiled
+    assertEquals("value", catalog.resolve(new MessageKey("catalog_only")));
+  }
+
+  @Test
+  public void testOrdinal() {
+    assertEquals(new MessageKey("foo").getOrdinal(), new MessageKey("foo").getOrdinal());
+    assertTrue(new MessageKey("foo").getOrdinal() != new MessageKey("bar").getOrdinal());
+  }
+
+  @Test
+  public void testGet() {
+    ResourceBundle bundle = bundle(null, new Object[][]{{"foo", "foo_value"}});
+    assertSame(MessageCatalog.get(bundle), MessageCatalog.get(bundle));
+  }
+
+  @Test
+  public void testGetMany() {
+    ResourceBundle[] bundles = new ResourceBundle[64];
+    MessageCatalog[] catalogs = new MessageCatalog[bundles.length];
+    for (int i = 0;i < bundles.length;i++) {
+      bundles[i] = bundle(null, new Object[][]{{"foo", "foo_" + i}});
+      catalogs[i] = MessageCatalog.get(bundles[i]);
+    }
+    MessageKey foo = new MessageKey("foo");
+    for (int i = 0;i < bundles.length;i++) {
+      assertSame(catalogs[i], MessageCatalog.get(bundles[i]));
+      assertEquals("foo_" + i, catalogs[i].resolve(foo));
+    }
+  }
+}
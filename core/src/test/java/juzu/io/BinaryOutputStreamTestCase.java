@@ -90,4 +90,20 @@ public class BinaryOutputStreamTestCase extends AbstractTestCase {
     bos.append("a" + EURO + "b");
     assertEquals("ab", buffer.toString());
   }
+
+  @Test
+  public void testText() throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    OutputStream bos = OutputStream.create(UTF_8, buffer);
+    bos.provide(Chunk.create("a" + EURO + "b", UTF_8));
+    assertEquals("a" + EURO + "b", new String(buffer.toByteArray(), UTF_8));
+  }
+
+  @Test
+  public void testTextOtherCharset() throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    OutputStream bos = OutputStream.create(Tools.ISO_8859_1, buffer);
+    bos.provide(Chunk.create("a" + EURO + "b\u00E9", UTF_8));
+    assertEquals("ab\u00E9", new String(buffer.toByteArray(), Tools.ISO_8859_1));
+  }
 }
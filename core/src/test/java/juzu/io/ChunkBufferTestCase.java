@@ -20,6 +20,7 @@ import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.LinkedList;
+import java.util.concurrent.CountDownLatch;
 
 /** @author Julien Viet */
 public class ChunkBufferTestCase extends AbstractTestCase {
@@ -78,4 +79,95 @@ public class ChunkBufferTestCase extends AbstractTestCase {
     assertTrue(consumer.closed);
     assertEquals(Arrays.asList(chunk1, chunk2), consumer);
   }
+
+  @Test
+  public void testAppendRange() throws Exception {
+    ChunkBuffer buffer = new ChunkBuffer();
+    buffer.append("abcdef", 1, 4);
+    buffer.close();
+    Consumer consumer = new Consumer();
+    buffer.send(consumer);
+    assertEquals(1, consumer.size());
+    assertEquals("bcd", toString(consumer));
+  }
+
+  @Test
+  public void testCoalesce() throws Exception {
+    ChunkBuffer buffer = new ChunkBuffer();
+    buffer.append("foo");
+    buffer.append('_');
+    buffer.append(chunk1);
+    buffer.append("bar");
+    buffer.close();
+    Consumer consumer = new Consumer();
+    buffer.send(consumer);
+    assertTrue(consumer.closed);
+    assertEquals(3, consumer.size());
+    assertEquals("foo_", toString(consumer.subList(0, 1)));
+    assertSame(chunk1, consumer.get(1));
+    assertEquals("bar", toString(consumer.subList(2, 3)));
+  }
+
+  @Test
+  public void testSegments() throws Exception {
+    ChunkBuffer buffer = new ChunkBuffer();
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0;i < 1000;i++) {
+      buffer.append(Integer.toString(i));
+      expected.append(i);
+    }
+    buffer.close();
+    Consumer consumer = new Consumer();
+    buffer.send(consumer);
+    assertTrue(consumer.closed);
+    assertTrue(consumer.size() < 1000);
+    assertEquals(expected.toString(), toString(consumer));
+  }
+
+  @Test
+  public void testConcurrentProducer() throws Exception {
+    final ChunkBuffer buffer = new ChunkBuffer();
+    final CountDownLatch latch = new CountDownLatch(1);
+    Thread producer = new Thread() {
+      @Override
+      public void run() {
+        try {
+          for (int i = 0;i < 10000;i++) {
+            if (i == 100) {
+              latch.countDown();
+            }
+            buffer.append(Integer.toString(i));
+          }
+          buffer.close();
+        }
+        catch (Exception e) {
+          throw failure(e);
+        }
+      }
+    };
+    producer.start();
+    latch.await();
+    Consumer consumer = new Consumer();
+    buffer.send(consumer);
+    producer.join();
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0;i < 10000;i++) {
+      expected.append(i);
+    }
+    assertTrue(consumer.closed);
+    assertEquals(expected.toString(), toString(consumer));
+  }
+
+  private static String toString(Iterable<Chunk> chunks) {
+    StringBuilder sb = new StringBuilder();
+    for (Chunk chunk : chunks) {
+      if (chunk instanceof Chunk.Data.Char) {
+        sb.append(((Chunk.Data.Char)chunk).value);
+      } else {
+        Chunk.Data.CharSequence chars = (Chunk.Data.CharSequence)chunk;
+        sb.append(chars.data, chars.start, chars.end);
+      }
+    }
+    return sb.toString();
+  }
 }
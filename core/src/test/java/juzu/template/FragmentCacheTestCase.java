@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.template;
+
+import juzu.impl.common.Tools;
+import juzu.impl.template.spi.TemplateStub;
+import juzu.io.Chunk;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+public class FragmentCacheTestCase extends AbstractTestCase {
+
+  /** . */
+  private static final List<Chunk> FOO = Collections.<Chunk>singletonList(Chunk.create("foo"));
+
+  /** . */
+  private static final List<Chunk> BAR = Collections.<Chunk>singletonList(Chunk.create("bar"));
+
+  @Test
+  public void testLocale() {
+    FragmentCache cache = new FragmentCache();
+    cache.put("key", Locale.ENGLISH, FOO, 0);
+    cache.put("key", Locale.FRENCH, BAR, 0);
+    assertEquals(FOO, cache.get("key", Locale.ENGLISH));
+    assertEquals(BAR, cache.get("key", Locale.FRENCH));
+    assertNull(cache.get("key", null));
+    assertEquals(2, cache.getHits());
+    assertEquals(1, cache.getMisses());
+    cache.remove("key");
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void testEviction() {
+    FragmentCache cache = new FragmentCache(2);
+    cache.put("a", null, FOO, 0);
+    cache.put("b", null, FOO, 0);
+    assertNotNull(cache.get("a", null));
+    cache.put("c", null, FOO, 0);
+    assertEquals(2, cache.getSize());
+    assertEquals(1, cache.getEvictions());
+    assertNotNull(cache.get("a", null));
+    assertNull(cache.get("b", null));
+    assertNotNull(cache.get("c", null));
+  }
+
+  @Test
+  public void testExpiration() throws Exception {
+    FragmentCache cache = new FragmentCache();
+    cache.put("a", null, FOO, 1);
+    Thread.sleep(10);
+    assertNull(cache.get("a", null));
+    assertEquals(1, cache.getEvictions());
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void testReplayStream() throws Exception {
+    final FragmentCache cache = new FragmentCache();
+    TemplateStub stub = new TemplateStub("stub") {
+      @Override
+      protected void doInit(ClassLoader loader) {
+      }
+      @Override
+      protected void doRender(TemplateRenderContext renderContext) {
+        cache.render(renderContext, "key", 0, new Renderable() {
+          public void render(TemplateRenderContext context) {
+            context.getPrinter().provide(Chunk.create(new ByteArrayInputStream("foo".getBytes(Tools.UTF_8))));
+            context.getPrinter().provide(Chunk.create(new StringReader("bar")));
+          }
+        });
+      }
+    };
+    stub.init(Thread.currentThread().getContextClassLoader());
+    assertEquals("foobar", new TemplateRenderContext(stub).render().toString());
+    assertEquals("foobar", new TemplateRenderContext(stub).render().toString());
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+  }
+}
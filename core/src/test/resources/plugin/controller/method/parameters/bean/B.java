@@ -47,6 +47,11 @@ public class B {
     this.b = b;
   }
 
+  // The String[] setter is preferred to this overload
+  public void setB(final String b) {
+    this.b = new String[]{b};
+  }
+
   public List<String> getC() {
     return c;
   }
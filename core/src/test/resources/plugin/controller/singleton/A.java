@@ -0,0 +1,45 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package plugin.controller.singleton;
+
+import juzu.Path;
+import juzu.Response;
+import juzu.View;
+import juzu.template.Template;
+import juzu.test.Registry;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+@Singleton
+public class A {
+
+  @Inject
+  @Path("index.gtmpl")
+  Template index;
+
+  public A() {
+    Integer count = Registry.get("a");
+    Registry.set("a", count == null ? 1 : count + 1);
+  }
+
+  @View
+  public Response.Content index() {
+    return index.ok();
+  }
+}
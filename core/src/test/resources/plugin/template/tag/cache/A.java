@@ -0,0 +1,52 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package plugin.template.tag.cache;
+
+import juzu.Path;
+import juzu.Response;
+import juzu.View;
+import juzu.template.Template;
+
+import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+
+/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+public class A {
+
+  /** . */
+  static int count = 0;
+
+  @Path("index.gtmpl")
+  @Inject
+  Template index;
+
+  @Path("builder.gtmpl")
+  @Inject
+  Template builder;
+
+  @View
+  public Response.Content index() {
+    int value = count++;
+    return index.with().set("title", "title_" + value).set("value", "value_" + value).ok();
+  }
+
+  @View
+  public Response.Content builder() {
+    int value = count++;
+    return builder.with().set("title", "title_" + value).set("value", "value_" + value).cached("builder", 1, TimeUnit.MINUTES).ok();
+  }
+}
@@ -24,6 +24,7 @@ import juzu.plugin.less.impl.lesser.LessContext;
 
 import javax.tools.FileObject;
 import java.io.IOException;
+import java.util.LinkedHashMap;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 class CompilerLessContext implements LessContext {
@@ -37,6 +38,9 @@ class CompilerLessContext implements LessContext {
   /** . */
   final Name pkg;
 
+  /** The hash of the loaded files. */
+  final LinkedHashMap<String, String> loaded = new LinkedHashMap<String, String>();
+
   CompilerLessContext(
     ProcessingContext processingContext,
     ElementHandle.Package context,
@@ -47,6 +51,12 @@ class CompilerLessContext implements LessContext {
   }
 
   public String load(String ref) {
+    String content = doLoad(ref);
+    loaded.put(ref, content != null ? LessCache.hash(content) : LessCache.MISSING);
+    return content;
+  }
+
+  private String doLoad(String ref) {
     try {
       Path.Absolute path = pkg.resolve(ref);
       FileObject c = processingContext.resolveResourceFromSourcePath(context, path);
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.plugin.less.impl;
+
+import juzu.impl.common.Tools;
+import juzu.impl.compiler.ProcessingContext;
+import juzu.plugin.less.impl.lesser.LessContext;
+
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The cache of the compiled stylesheets, an entry is keyed by the stylesheet and retains the hash of the content of
+ * each file loaded by the compilation: the stylesheet and the files it imports. An entry is valid as long as the
+ * hashes of these files are unchanged. The cache is saved with the meta model in the source output.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+class LessCache implements Serializable {
+
+  /** Marks a file that could not be loaded. */
+  static final String MISSING = "";
+
+  /**
+   * Load the cache from the source output.
+   *
+   * @param env the processing context
+   * @return the cache, it is empty when it could not be loaded
+   */
+  static LessCache load(ProcessingContext env) {
+    InputStream in = null;
+    try {
+      FileObject file = env.getResource(StandardLocation.SOURCE_OUTPUT, "juzu", "less.ser");
+      in = file.openInputStream();
+      return (LessCache)new ObjectInputStream(in).readObject();
+    }
+    catch (Exception e) {
+      return new LessCache();
+    }
+    finally {
+      Tools.safeClose(in);
+    }
+  }
+
+  /**
+   * Computes the hash of a content.
+   *
+   * @param content the content
+   * @return the hash
+   */
+  static String hash(String content) {
+    try {
+      byte[] digest = MessageDigest.getInstance("MD5").digest(content.getBytes("UTF-8"));
+      StringBuilder sb = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return sb.toString();
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new UnsupportedOperationException(e);
+    }
+    catch (UnsupportedEncodingException e) {
+      throw new UnsupportedOperationException(e);
+    }
+  }
+
+  /** . */
+  private final HashMap<String, Entry> entries = new HashMap<String, Entry>();
+
+  /**
+   * Returns the cached stylesheet when the files it was compiled from did not change.
+   *
+   * @param key the entry key
+   * @param context the context used to load the files
+   * @return the compiled stylesheet or null
+   */
+  String get(String key, LessContext context) {
+    Entry entry = entries.get(key);
+    if (entry != null) {
+      for (Map.Entry<String, String> dependency : entry.dependencies.entrySet()) {
+        String content = context.load(dependency.getKey());
+        String hash = content != null ? hash(content) : MISSING;
+        if (!hash.equals(dependency.getValue())) {
+          return null;
+        }
+      }
+      return entry.value;
+    }
+    return null;
+  }
+
+  /**
+   * Put a compiled stylesheet in the cache.
+   *
+   * @param key the entry key
+   * @param value the compiled stylesheet
+   * @param dependencies the hash of the files loaded by the compilation
+   */
+  void put(String key, String value, Map<String, String> dependencies) {
+    entries.put(key, new Entry(value, new LinkedHashMap<String, String>(dependencies)));
+  }
+
+  /**
+   * Save the cache in the source output.
+   *
+   * @param env the processing context
+   */
+  void store(ProcessingContext env) {
+    ObjectOutputStream out = null;
+    try {
+      FileObject file = env.createResource(StandardLocation.SOURCE_OUTPUT, "juzu", "less.ser");
+      out = new ObjectOutputStream(file.openOutputStream());
+      out.writeObject(this);
+    }
+    catch (Exception e) {
+      LessMetaModelPlugin.log.log("Could not save less cache", e);
+    }
+    finally {
+      Tools.safeClose(out);
+    }
+  }
+
+  private static class Entry implements Serializable {
+
+    /** . */
+    private final String value;
+
+    /** . */
+    private final LinkedHashMap<String, String> dependencies;
+
+    private Entry(String value, LinkedHashMap<String, String> dependencies) {
+      this.value = value;
+      this.dependencies = dependencies;
+    }
+  }
+}
@@ -33,9 +33,9 @@ import juzu.impl.common.Tools;
 import juzu.plugin.less.Less;
 import juzu.plugin.less.impl.lesser.Compilation;
 import juzu.plugin.less.impl.lesser.Failure;
-import juzu.plugin.less.impl.lesser.JSContext;
 import juzu.plugin.less.impl.lesser.LessError;
 import juzu.plugin.less.impl.lesser.Lesser;
+import juzu.plugin.less.impl.lesser.LesserPool;
 import juzu.plugin.less.impl.lesser.Result;
 
 import javax.lang.model.element.AnnotationMirror;
@@ -108,7 +108,22 @@ public class LessMetaModelPlugin extends ModuleMetaModelPlugin {
     HashMap<Name, AnnotationState> clone = annotations;
     annotations = null;
 
+    // The cache of the previous compilations
+    if (clone.isEmpty()) {
+      return;
+    }
+    LessCache cache = LessCache.load(metaModel.processingContext);
+
     //
+    try {
+      passivate(metaModel, clone, cache);
+    }
+    finally {
+      cache.store(metaModel.processingContext);
+    }
+  }
+
+  private void passivate(ModuleMetaModel metaModel, HashMap<Name, AnnotationState> clone, LessCache cache) {
     for (Map.Entry<Name, AnnotationState> entry : clone.entrySet()) {
       AnnotationState annotation = entry.getValue();
       Name pkg = entry.getKey();
@@ -150,16 +165,27 @@ public class LessMetaModelPlugin extends ModuleMetaModelPlugin {
           Path.Absolute to = assetPkg.resolve(path.as("css"));
           log.log("Resource " + resource + " destination resolved to " + to);
 
-          //
-          Lesser lesser;
+          // Reuse the previous compilation when the stylesheet and its imports are unchanged
+          String key = to + (Boolean.TRUE.equals(minify) ? ":minify" : "");
+          String cached = cache.get(key, clc);
           Result result;
-          try {
-            lesser = new Lesser(JSContext.create());
-            result = lesser.compile(clc, resource, Boolean.TRUE.equals(minify));
-          }
-          catch (Exception e) {
-            log.log("Unexpected exception", e);
-            throw new UnsupportedOperationException(e);
+          if (cached != null) {
+            log.log("Resource " + resource + " is unchanged");
+            result = new Compilation(cached);
+          } else {
+            clc.loaded.clear();
+            try {
+              Lesser lesser = LesserPool.INSTANCE.acquire();
+              result = lesser.compile(clc, resource, Boolean.TRUE.equals(minify));
+              LesserPool.INSTANCE.release(lesser);
+            }
+            catch (Exception e) {
+              log.log("Unexpected exception", e);
+              throw new UnsupportedOperationException(e);
+            }
+            if (result instanceof Compilation) {
+              cache.put(key, ((Compilation)result).getValue(), clc.loaded);
+            }
           }
 
           //
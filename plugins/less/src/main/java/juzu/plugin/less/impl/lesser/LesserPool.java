@@ -0,0 +1,83 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.plugin.less.impl.lesser;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of {@link Lesser} instances: creating a lesser evaluates the <code>less.js</code> script which is much more
+ * expensive than compiling a stylesheet, so the instances are kept for the next compilations.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+public class LesserPool {
+
+  /** The pool shared by the compilations performed in the same virtual machine. */
+  public static final LesserPool INSTANCE = new LesserPool(Runtime.getRuntime().availableProcessors());
+
+  /** . */
+  private final ConcurrentLinkedQueue<Lesser> idle = new ConcurrentLinkedQueue<Lesser>();
+
+  /** . */
+  private final AtomicInteger size = new AtomicInteger();
+
+  /** . */
+  private final int maxSize;
+
+  public LesserPool(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Returns an idle lesser or create a new one.
+   *
+   * @return the lesser
+   * @throws Exception any exception thrown when creating a lesser
+   */
+  public Lesser acquire() throws Exception {
+    Lesser lesser = idle.poll();
+    if (lesser != null) {
+      size.decrementAndGet();
+      return lesser;
+    } else {
+      return new Lesser(JSContext.create());
+    }
+  }
+
+  /**
+   * Returns a lesser to the pool, it is discarded when the pool is full.
+   *
+   * @param lesser the lesser
+   */
+  public void release(Lesser lesser) {
+    if (size.incrementAndGet() <= maxSize) {
+      idle.offer(lesser);
+    } else {
+      size.decrementAndGet();
+    }
+  }
+
+  /**
+   * Returns the number of idle lessers.
+   *
+   * @return the idle size
+   */
+  public int getSize() {
+    return size.get();
+  }
+}
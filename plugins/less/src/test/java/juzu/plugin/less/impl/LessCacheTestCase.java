@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.plugin.less.impl;
+
+import juzu.plugin.less.impl.lesser.LessContext;
+import juzu.plugin.less.impl.lesser.Lesser;
+import juzu.plugin.less.impl.lesser.LesserPool;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+public class LessCacheTestCase {
+
+  private static class MapContext implements LessContext {
+    final HashMap<String, String> files = new HashMap<String, String>();
+    public String load(String ref) {
+      return files.get(ref);
+    }
+  }
+
+  @Test
+  public void testDependencies() {
+    MapContext context = new MapContext();
+    context.files.put("a.less", "@import \"b.less\";");
+    context.files.put("b.less", ".b { }");
+    HashMap<String, String> dependencies = new HashMap<String, String>();
+    dependencies.put("a.less", LessCache.hash(context.files.get("a.less")));
+    dependencies.put("b.less", LessCache.hash(context.files.get("b.less")));
+    dependencies.put("c.less", LessCache.MISSING);
+    LessCache cache = new LessCache();
+    cache.put("a", ".b{}", dependencies);
+    Assert.assertEquals(".b{}", cache.get("a", context));
+    Assert.assertNull(cache.get("b", context));
+
+    // Modify an import
+    context.files.put("b.less", ".b { color: red }");
+    Assert.assertNull(cache.get("a", context));
+    context.files.put("b.less", ".b { }");
+    Assert.assertEquals(".b{}", cache.get("a", context));
+
+    // A missing file appears
+    context.files.put("c.less", ".c { }");
+    Assert.assertNull(cache.get("a", context));
+  }
+
+  @Test
+  public void testPool() throws Exception {
+    LesserPool pool = new LesserPool(1);
+    Lesser lesser = pool.acquire();
+    Lesser other = pool.acquire();
+    Assert.assertNotSame(lesser, other);
+    pool.release(lesser);
+    pool.release(other);
+    Assert.assertEquals(1, pool.getSize());
+    Assert.assertSame(lesser, pool.acquire());
+    Assert.assertEquals(0, pool.getSize());
+  }
+}
@@ -22,15 +22,27 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.AbstractMap;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
-/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+/**
+ * The mustache scope of a render: a name is resolved against the template parameters and then as a bean, the
+ * value is resolved once per render, loops and sections that refer to a name again reuse the value.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
 class ContextMap extends AbstractMap<String, Object> {
 
+  /** Marks a name that does not resolve. */
+  private static final Object NULL = new Object();
+
   /** . */
   final TemplateRenderContext renderContext;
 
+  /** The resolved values. */
+  private HashMap<String, Object> resolved;
+
   ContextMap(TemplateRenderContext renderContext) {
     this.renderContext = renderContext;
   }
@@ -44,18 +56,34 @@ class ContextMap extends AbstractMap<String, Object> {
   public Object get(Object key) {
     Object value = null;
     if (key instanceof String) {
-      Map<String,?> attributes = renderContext.getAttributes();
-      if (attributes != null) {
-        value = attributes.get(key);
-      }
-      if (value == null) {
-        try {
-          value = renderContext.resolveBean((String)key);
-        }
-        catch (InvocationTargetException e) {
-          throw new UndeclaredThrowableException(e.getCause());
+      String name = (String)key;
+      if (resolved == null) {
+        resolved = new HashMap<String, Object>();
+      } else {
+        value = resolved.get(name);
+        if (value != null) {
+          return value == NULL ? null : value;
         }
       }
+      value = resolve(name);
+      resolved.put(name, value != null ? value : NULL);
+    }
+    return value;
+  }
+
+  private Object resolve(String name) {
+    Object value = null;
+    Map<String,?> attributes = renderContext.getAttributes();
+    if (attributes != null) {
+      value = attributes.get(name);
+    }
+    if (value == null) {
+      try {
+        value = renderContext.resolveBean(name);
+      }
+      catch (InvocationTargetException e) {
+        throw new UndeclaredThrowableException(e.getCause());
+      }
     }
     return value;
   }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.templating.mustache;
+
+import juzu.io.Chunk;
+import juzu.io.Stream;
+
+import java.io.Writer;
+
+/**
+ * A writer that provides the mustache output to the render stream as it is rendered, the characters are buffered
+ * to not create a chunk for each piece of text written by mustache.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+class StreamWriter extends Writer {
+
+  /** The buffer size. */
+  static final int BUFFER_SIZE = 1024;
+
+  /** . */
+  private final Stream stream;
+
+  /** . */
+  private final char[] buffer = new char[BUFFER_SIZE];
+
+  /** . */
+  private int count;
+
+  StreamWriter(Stream stream) {
+    this.stream = stream;
+  }
+
+  @Override
+  public void write(int c) {
+    if (count == buffer.length) {
+      flush();
+    }
+    buffer[count++] = (char)c;
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) {
+    if (len >= buffer.length) {
+      flush();
+      stream.provide(Chunk.create(new String(cbuf, off, len)));
+    } else {
+      if (count + len > buffer.length) {
+        flush();
+      }
+      System.arraycopy(cbuf, off, buffer, count, len);
+      count += len;
+    }
+  }
+
+  @Override
+  public void write(String str, int off, int len) {
+    if (len >= buffer.length) {
+      flush();
+      stream.provide(Chunk.create(str, off, off + len));
+    } else {
+      if (count + len > buffer.length) {
+        flush();
+      }
+      str.getChars(off, off + len, buffer, count);
+      count += len;
+    }
+  }
+
+  /**
+   * Provides the buffered characters to the stream.
+   */
+  @Override
+  public void flush() {
+    if (count > 0) {
+      stream.provide(Chunk.create(new String(buffer, 0, count)));
+      count = 0;
+    }
+  }
+
+  @Override
+  public void close() {
+    flush();
+  }
+}
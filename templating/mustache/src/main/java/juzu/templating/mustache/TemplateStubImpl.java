@@ -22,13 +22,10 @@ import com.github.mustachejava.Mustache;
 import com.github.mustachejava.MustacheVisitor;
 import com.github.mustachejava.TemplateContext;
 import juzu.impl.template.spi.TemplateStub;
-import juzu.io.Chunk;
-import juzu.io.Stream;
 import juzu.template.TemplateExecutionException;
 import juzu.template.TemplateRenderContext;
 
 import java.io.IOException;
-import java.io.StringWriter;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class TemplateStubImpl extends TemplateStub {
@@ -84,9 +81,8 @@ public class TemplateStubImpl extends TemplateStub {
 
   @Override
   protected void doRender(TemplateRenderContext renderContext) throws TemplateExecutionException, IOException {
-    StringWriter buffer = new StringWriter();
-    mustache.execute(buffer, new Object[]{new ContextMap(renderContext)});
-    Stream stream = renderContext.getPrinter();
-    stream.provide(Chunk.create(buffer.getBuffer()));
+    StreamWriter writer = new StreamWriter(renderContext.getPrinter());
+    mustache.execute(writer, new Object[]{new ContextMap(renderContext)});
+    writer.flush();
   }
 }
@@ -62,6 +62,19 @@ public class MustacheTestCase extends AbstractInjectTestCase {
     assertEquals("<bar>foo</bar>", render.assertStringResult());
   }
 
+  @Test
+  public void testStreaming() throws Exception {
+    MockApplication<?> app = application("streaming").init();
+    MockClient client = app.client();
+    MockRenderBridge render = client.render();
+    StringBuilder expected = new StringBuilder("<ul>");
+    for (int i = 0;i < 1000;i++) {
+      expected.append("<li>item").append(i).append("bar</li>");
+    }
+    expected.append("</ul>");
+    assertEquals(expected.toString(), render.assertStringResult());
+  }
+
   @Test
   public void testParameterDeclaration() throws Exception {
     if (getDI() != InjectorProvider.INJECT_GUICE) {
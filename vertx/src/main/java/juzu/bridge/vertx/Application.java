@@ -53,10 +53,17 @@ import java.net.URL;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class Application {
 
+  /** The delay between two checks of the bootstrap completion in milliseconds. */
+  private static final long BOOTSTRAP_POLL_DELAY = 10;
+
   /** . */
   private final Container container;
 
@@ -75,13 +82,27 @@ public class Application {
   /** . */
   final int port;
 
+  /** . */
+  final CookieCodec codec;
+
+  /** . */
+  final int flushThreshold;
+
+  /** . */
+  private Logger log;
+
+  /** The application bootstrap, null when it should be started again. */
+  private Future<Bridge> bootstrap;
+
   Application(
       Container container,
       Vertx vertx,
       ClassLoader loader,
       DiskFileSystem sourcePath,
       Name main,
-      int port) {
+      int port,
+      CookieCodec codec,
+      int flushThreshold) {
 
     //
     this.container = container;
@@ -90,12 +111,14 @@ public class Application {
     this.sourcePath = sourcePath;
     this.main = main;
     this.port = port;
+    this.codec = codec;
+    this.flushThreshold = flushThreshold;
   }
 
   public void start() throws Exception {
 
     //
-    final Logger log = new Logger() {
+    log = new Logger() {
       final org.vertx.java.core.logging.Logger logger = container.getLogger();
 
       public void log(CharSequence msg) {
@@ -107,163 +130,70 @@ public class Application {
       }
     };
 
+    // Bootstrap the application in the background
+    bootstrap();
+
     //
     HttpServer server = vertx.createHttpServer().requestHandler(new Handler<HttpServerRequest>() {
       juzu.impl.bridge.spi.web.Handler h;
 
-      /** . */
-      Bridge bridge = null;
-
       public void handle(final HttpServerRequest req) {
         String contentType = req.headers().get("Content-Type");
         if (contentType != null && contentType.startsWith("application/x-www-form-urlencoded")) {
-          req.bodyHandler(new Handler<Buffer>() {
+          final FormParser parser = new FormParser();
+          req.dataHandler(new Handler<Buffer>() {
             public void handle(Buffer buffer) {
-              VertxRequestContext ctx = new VertxRequestContext(req, buffer, log);
-              handle2(ctx);
+              parser.append(buffer.getBytes());
+            }
+          });
+          req.endHandler(new Handler<Void>() {
+            public void handle(Void event) {
+              handle2(new VertxRequestContext(req, parser.end(), log, codec, flushThreshold));
             }
           });
         }
         else {
-          VertxRequestContext ctx = new VertxRequestContext(req, null, log);
-          handle2(ctx);
+          handle2(new VertxRequestContext(req, null, log, codec, flushThreshold));
         }
       }
 
-      private void handle2(VertxRequestContext ctx) {
-        if (bridge == null) {
-          try {
-
-            //
-            final ResourceResolver r = new ClassLoaderResolver(loader);
-/*
-            Module module = new Module(new ModuleContext() {
-              public ClassLoader getClassLoader() {
-                return loader;
-              }
-
-              public JSON getConfig() throws Exception {
-                ReadFileSystem<String[]> c = lifeCycle.getClasses();
-                Content f = c.getContent(new String[]{"juzu", "config.json"}).getObject();
-                return (JSON)JSON.parse(f.getCharSequence().toString());
-              }
-
-              public ResourceResolver getServerResolver() {
-                return r;
-              }
-
-              public ReadFileSystem<?> getResourcePath() {
-                throw new UnsupportedOperationException("?");
-              }
-
-              public ModuleRuntime<?> getLifeCycle() {
-                return lifeCycle;
-              }
-
-              public RunMode getRunMode() {
-                return RunMode.DEV;
-              }
-            });
-*/
-
-            //
-            Map<String, String> cfg = new HashMap<String, String>();
-            cfg.put(BridgeConfig.INJECT, InjectorProvider.INJECT_GUICE.getValue());
-            cfg.put(BridgeConfig.APP_NAME, main.toString());
-            BridgeConfig config = new BridgeConfig(cfg);
-
-            //
-            BridgeContext context = new BridgeContext() {
-
-              /** . */
-              final ResourceResolver resolver = new ClassLoaderResolver(loader);
-
-              /** . */
-              final HashMap<String, Object> attributes = new HashMap<String, Object>();
-
-              public ClassLoader getClassLoader() {
-                return loader;
-              }
-
-              public String getInitParameter(String name) {
-                if ("juzu.run_mode".equals(name)) {
-                  return "live";
-                }
-                else {
-                  return null;
-                }
-              }
-
-              public ResourceResolver getResolver() {
-                return resolver;
-              }
-
-              public Object getAttribute(String key) {
-                return attributes.get(key);
-              }
-
-              public void setAttribute(String key, Object value) {
-                if (value != null) {
-                  attributes.put(key, value);
-                }
-                else {
-                  attributes.remove(key);
-                }
-              }
-
-              public ReadFileSystem<?> getClassPath() {
-                throw new UnsupportedOperationException("Not supported");
-              }
-
-              public ReadFileSystem<?> getSourcePath() {
-                return sourcePath;
-              }
-
-              public ReadFileSystem<?> getResourcePath() {
-                return sourcePath;
-              }
-            };
-
-            //
-            Bridge bridge = new ApplicationBridge(
-                context,
-                log,
-                config,
-                null,
-                r) {
-              @Override
-              protected Injector createInjector(InjectorProvider provider) {
-                Injector injector = super.createInjector(provider);
-                // Bind vertx singleton
-                injector.bindBean(Vertx.class, null, vertx);
-                return injector;
-              }
-            };
-
-            //
-            this.bridge = bridge;
-          }
-          catch (CompilationException e) {
-            try {
-              ctx.send(e);
+      private void handle2(final VertxRequestContext ctx) {
+        if (bootstrap == null) {
+          bootstrap();
+        }
+        if (!bootstrap.isDone()) {
+          // Check again later, the event loop must not wait for the bootstrap
+          vertx.setTimer(BOOTSTRAP_POLL_DELAY, new Handler<Long>() {
+            public void handle(Long event) {
+              handle2(ctx);
             }
-            catch (IOException ignore) {
+          });
+          return;
+        }
+        Bridge bridge;
+        try {
+          bridge = bootstrap.get();
+        }
+        catch (Exception e) {
+          // The bootstrap is started again on the next request
+          bootstrap = null;
+          Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+          try {
+            if (cause instanceof CompilationException) {
+              ctx.send((CompilationException)cause);
+            } else {
+              ctx.send(Response.error(cause).result(), true);
             }
-            return;
           }
-          catch (Exception e) {
-            try {
-              ctx.send(Response.error(e).result(), true);
-            }
-            catch (IOException ignore) {
-            }
-            return;
+          catch (IOException ignore) {
           }
+          return;
         }
 
         //
         try {
           if (bridge.refresh(true)) {
+            Tools.safeClose(h);
             h = null;
           }
           if (h == null) {
@@ -291,7 +221,7 @@ public class Application {
         //
         boolean served = false;
         HttpServerResponse response = ctx.req.response;
-        Iterable<ResourceResolver> resolvers = bridge.getApplication().resolveBeans(ResourceResolver.class);
+        Iterable<ResourceResolver> resolvers = h.getApplication().resolveBeans(ResourceResolver.class);
         for (Iterator<ResourceResolver> i = resolvers.iterator();i.hasNext() && !served;) {
           ResourceResolver resolver = i.next();
           URL assetURL = resolver.resolve(ctx.req.path);
@@ -344,6 +274,129 @@ public class Application {
     }).listen(port);
   }
 
+  private void bootstrap() {
+    FutureTask<Bridge> task = new FutureTask<Bridge>(new Callable<Bridge>() {
+      public Bridge call() throws Exception {
+        return createBridge();
+      }
+    });
+    Thread thread = new Thread(task, "Juzu bootstrap " + main);
+    thread.setDaemon(true);
+    thread.start();
+    bootstrap = task;
+  }
+
+  private Bridge createBridge() throws Exception {
+    final ResourceResolver r = new ClassLoaderResolver(loader);
+/*
+    Module module = new Module(new ModuleContext() {
+      public ClassLoader getClassLoader() {
+        return loader;
+      }
+
+      public JSON getConfig() throws Exception {
+        ReadFileSystem<String[]> c = lifeCycle.getClasses();
+        Content f = c.getContent(new String[]{"juzu", "config.json"}).getObject();
+        return (JSON)JSON.parse(f.getCharSequence().toString());
+      }
+
+      public ResourceResolver getServerResolver() {
+        return r;
+      }
+
+      public ReadFileSystem<?> getResourcePath() {
+        throw new UnsupportedOperationException("?");
+      }
+
+      public ModuleRuntime<?> getLifeCycle() {
+        return lifeCycle;
+      }
+
+      public RunMode getRunMode() {
+        return RunMode.DEV;
+      }
+    });
+*/
+
+    //
+    Map<String, String> cfg = new HashMap<String, String>();
+    cfg.put(BridgeConfig.INJECT, InjectorProvider.INJECT_GUICE.getValue());
+    cfg.put(BridgeConfig.APP_NAME, main.toString());
+    BridgeConfig config = new BridgeConfig(cfg);
+
+    //
+    BridgeContext context = new BridgeContext() {
+
+      /** . */
+      final ResourceResolver resolver = new ClassLoaderResolver(loader);
+
+      /** . */
+      final HashMap<String, Object> attributes = new HashMap<String, Object>();
+
+      public ClassLoader getClassLoader() {
+        return loader;
+      }
+
+      public String getInitParameter(String name) {
+        if ("juzu.run_mode".equals(name)) {
+          return "live";
+        }
+        else {
+          return null;
+        }
+      }
+
+      public ResourceResolver getResolver() {
+        return resolver;
+      }
+
+      public Object getAttribute(String key) {
+        return attributes.get(key);
+      }
+
+      public void setAttribute(String key, Object value) {
+        if (value != null) {
+          attributes.put(key, value);
+        }
+        else {
+          attributes.remove(key);
+        }
+      }
+
+      public ReadFileSystem<?> getClassPath() {
+        throw new UnsupportedOperationException("Not supported");
+      }
+
+      public ReadFileSystem<?> getSourcePath() {
+        return sourcePath;
+      }
+
+      public ReadFileSystem<?> getResourcePath() {
+        return sourcePath;
+      }
+    };
+
+    //
+    Bridge bridge = new ApplicationBridge(
+        context,
+        log,
+        config,
+        null,
+        r) {
+      @Override
+      protected Injector createInjector(InjectorProvider provider) {
+        Injector injector = super.createInjector(provider);
+        // Bind vertx singleton
+        injector.bindBean(Vertx.class, null, vertx);
+        return injector;
+      }
+    };
+
+    // Compile and start the application now
+    bridge.refresh(true);
+    return bridge;
+  }
+
   public void stop() throws Exception {
 //    lifeCycle = null;
   }
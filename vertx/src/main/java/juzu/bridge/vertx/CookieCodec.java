@@ -0,0 +1,282 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.bridge.vertx;
+
+import juzu.impl.common.Tools;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * <p>Encodes the flash and session scoped values in cookies.</p>
+ *
+ * <p>A value is serialized to bytes by the {@link #serialize(java.io.Serializable)} method, the bytes are deflated
+ * when compression is enabled and it makes them smaller, then they are signed with an HMAC-SHA256 of the cookie name
+ * and the payload. The cookie value is the URL safe base64 encoding of a flag byte, the payload and the signature.
+ * The signature is verified before the payload is inflated and deserialized, so a cookie not produced by the server
+ * is never deserialized.</p>
+ *
+ * <p>The serialization of values can be changed by overriding the {@link #serialize(java.io.Serializable)} and
+ * {@link #deserialize(ClassLoader, byte[])} methods.</p>
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+public class CookieCodec {
+
+  /** . */
+  private static final String ALGORITHM = "HmacSHA256";
+
+  /** . */
+  private static final int SIGNATURE_LENGTH = 32;
+
+  /** . */
+  private static final int DEFLATED = 1;
+
+  /** . */
+  private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+
+  /** . */
+  private static final int[] INDEX = new int[128];
+
+  static {
+    for (int i = 0;i < INDEX.length;i++) {
+      INDEX[i] = -1;
+    }
+    for (int i = 0;i < ALPHABET.length;i++) {
+      INDEX[ALPHABET[i]] = i;
+    }
+  }
+
+  /**
+   * Create a secret key suitable for signing cookies.
+   *
+   * @return the random secret
+   */
+  public static byte[] createSecret() {
+    byte[] secret = new byte[SIGNATURE_LENGTH];
+    new SecureRandom().nextBytes(secret);
+    return secret;
+  }
+
+  /** . */
+  private final SecretKeySpec key;
+
+  /** . */
+  private final boolean compress;
+
+  /** Mac instances are not thread safe and costly to obtain. */
+  private final ThreadLocal<Mac> macs = new ThreadLocal<Mac>() {
+    @Override
+    protected Mac initialValue() {
+      try {
+        Mac mac = Mac.getInstance(ALGORITHM);
+        mac.init(key);
+        return mac;
+      }
+      catch (GeneralSecurityException e) {
+        throw new UnsupportedOperationException("Could not create cookie signature", e);
+      }
+    }
+  };
+
+  /**
+   * Create a new codec.
+   *
+   * @param secret the signature secret
+   * @param compress true if the values should be compressed
+   * @throws NullPointerException if the secret is null
+   * @throws IllegalArgumentException if the secret is empty
+   */
+  public CookieCodec(byte[] secret, boolean compress) throws NullPointerException, IllegalArgumentException {
+    if (secret == null) {
+      throw new NullPointerException("No null secret accepted");
+    }
+    if (secret.length == 0) {
+      throw new IllegalArgumentException("No empty secret accepted");
+    }
+    this.key = new SecretKeySpec(secret, ALGORITHM);
+    this.compress = compress;
+  }
+
+  public boolean isCompress() {
+    return compress;
+  }
+
+  /**
+   * Serialize a value to bytes, the default implementation uses Java serialization.
+   *
+   * @param value the value
+   * @return the bytes
+   * @throws IOException any io exception
+   */
+  public byte[] serialize(Serializable value) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    Tools.serialize(value, baos);
+    return baos.toByteArray();
+  }
+
+  /**
+   * Deserialize a value from bytes.
+   *
+   * @param loader the class loader
+   * @param bytes the bytes
+   * @return the value
+   * @throws IOException any io exception
+   */
+  public Serializable deserialize(ClassLoader loader, byte[] bytes) throws IOException {
+    try {
+      return Tools.unserialize(loader, Serializable.class, new ByteArrayInputStream(bytes));
+    }
+    catch (ClassNotFoundException e) {
+      throw new IOException("Could not deserialize value: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Encode serialized bytes as a cookie value.
+   *
+   * @param name the cookie name
+   * @param bytes the serialized bytes
+   * @return the cookie value
+   * @throws IOException any io exception
+   */
+  public String encode(String name, byte[] bytes) throws IOException {
+    int flags = 0;
+    byte[] payload = bytes;
+    if (compress) {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream(bytes.length);
+      DeflaterOutputStream out = new DeflaterOutputStream(baos);
+      out.write(bytes);
+      out.close();
+      if (baos.size() < bytes.length) {
+        flags |= DEFLATED;
+        payload = baos.toByteArray();
+      }
+    }
+    byte[] signature = sign(name, flags, payload, 0, payload.length);
+    byte[] data = new byte[1 + payload.length + signature.length];
+    data[0] = (byte)flags;
+    System.arraycopy(payload, 0, data, 1, payload.length);
+    System.arraycopy(signature, 0, data, 1 + payload.length, signature.length);
+    return toBase64(data);
+  }
+
+  /**
+   * Decode a cookie value to the serialized bytes.
+   *
+   * @param name the cookie name
+   * @param value the cookie value
+   * @return the serialized bytes or null if the value is not valid or its signature does not match
+   */
+  public byte[] decode(String name, String value) {
+    byte[] data = fromBase64(value);
+    if (data == null || data.length < 1 + SIGNATURE_LENGTH) {
+      return null;
+    }
+    int flags = data[0];
+    int length = data.length - 1 - SIGNATURE_LENGTH;
+    byte[] expected = sign(name, flags, data, 1, length);
+    int diff = 0;
+    for (int i = 0;i < SIGNATURE_LENGTH;i++) {
+      diff |= expected[i] ^ data[1 + length + i];
+    }
+    if (diff != 0) {
+      return null;
+    }
+    if ((flags & DEFLATED) != 0) {
+      try {
+        return Tools.bytes(new InflaterInputStream(new ByteArrayInputStream(data, 1, length)));
+      }
+      catch (IOException e) {
+        return null;
+      }
+    } else {
+      byte[] bytes = new byte[length];
+      System.arraycopy(data, 1, bytes, 0, length);
+      return bytes;
+    }
+  }
+
+  private byte[] sign(String name, int flags, byte[] payload, int offset, int length) {
+    Mac mac = macs.get();
+    try {
+      mac.update(name.getBytes("UTF-8"));
+      mac.update((byte)0);
+      mac.update((byte)flags);
+      mac.update(payload, offset, length);
+      return mac.doFinal();
+    }
+    catch (UnsupportedEncodingException e) {
+      throw new UnsupportedOperationException("Could not sign cookie", e);
+    }
+  }
+
+  static String toBase64(byte[] data) {
+    StringBuilder sb = new StringBuilder((data.length * 4 + 2) / 3);
+    for (int i = 0;i < data.length;i += 3) {
+      int b = (data[i] & 0xFF) << 16;
+      int n = Math.min(3, data.length - i);
+      if (n > 1) {
+        b |= (data[i + 1] & 0xFF) << 8;
+      }
+      if (n > 2) {
+        b |= data[i + 2] & 0xFF;
+      }
+      for (int j = 0;j <= n;j++) {
+        sb.append(ALPHABET[(b >> (18 - j * 6)) & 0x3F]);
+      }
+    }
+    return sb.toString();
+  }
+
+  static byte[] fromBase64(String s) {
+    int length = s.length();
+    if (length % 4 == 1) {
+      return null;
+    }
+    byte[] data = new byte[length * 3 / 4];
+    int pos = 0;
+    for (int i = 0;i < length;i += 4) {
+      int n = Math.min(4, length - i);
+      int b = 0;
+      for (int j = 0;j < 4;j++) {
+        b <<= 6;
+        if (j < n) {
+          char c = s.charAt(i + j);
+          int v = c < INDEX.length ? INDEX[c] : -1;
+          if (v == -1) {
+            return null;
+          }
+          b |= v;
+        }
+      }
+      for (int j = 0;j < n - 1;j++) {
+        data[pos++] = (byte)(b >> (16 - j * 8));
+      }
+    }
+    return data;
+  }
+}
@@ -26,11 +26,10 @@ import juzu.impl.inject.spi.guice.GuiceScoped;
 import juzu.io.UndeclaredIOException;
 
 import javax.inject.Named;
-import javax.xml.bind.DatatypeConverter;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.NotSerializableException;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -45,15 +44,25 @@ public class CookieScopeContext implements ScopedContext {
   /** . */
   public static final int SESSION = 1;
 
+  /** . */
+  final CookieCodec codec;
+
   /** The current value. */
   HashMap<String, Scoped> values;
 
   /** The object from the request. */
   HashMap<String, String> snapshot;
 
+  /** The serialized bytes of the values decoded from the request. */
+  private HashMap<String, byte[]> decoded;
+
   /** . */
   boolean purged;
 
+  public CookieScopeContext(CookieCodec codec) {
+    this.codec = codec;
+  }
+
   public Scoped get(Object key) throws NullPointerException {
     String name = nameOf(key);
     if (name != null) {
@@ -64,16 +73,22 @@ public class CookieScopeContext implements ScopedContext {
       if (scoped == null && snapshot != null) {
         String encoded = snapshot.get(name);
         if (encoded != null) {
-          try {
-            byte[] bytes = DatatypeConverter.parseBase64Binary(encoded);
-            Object o = Tools.unserialize(Thread.currentThread().getContextClassLoader(), Serializable.class, new ByteArrayInputStream(bytes));
-            if (values == null) {
-              values = new HashMap<String, Scoped>();
+          byte[] bytes = codec.decode(name, encoded);
+          if (bytes != null) {
+            try {
+              Object o = codec.deserialize(Thread.currentThread().getContextClassLoader(), bytes);
+              if (values == null) {
+                values = new HashMap<String, Scoped>();
+              }
+              if (decoded == null) {
+                decoded = new HashMap<String, byte[]>();
+              }
+              values.put(name, scoped = new GuiceScoped(o));
+              decoded.put(name, bytes);
+            }
+            catch (Exception e) {
+              e.printStackTrace();
             }
-            values.put(name, scoped = new GuiceScoped(o));
-          }
-          catch (Exception e) {
-            e.printStackTrace();
           }
         }
       }
@@ -93,26 +108,24 @@ public class CookieScopeContext implements ScopedContext {
     if (values == null) {
       values = new HashMap<String, Scoped>();
     }
-    if (snapshot == null) {
-      snapshot = new HashMap<String, String>();
-    }
     values.put(name, scoped);
-    if (!snapshot.containsKey(name)) {
-      // We encode if so we can compare it with the actual value when sending cookies
-      snapshot.put(name, encode((Serializable)scoped.get()));
-    }
   }
 
-  String encode(Serializable o) {
-    try {
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-      Tools.serialize(o, baos);
-      baos.close();
-      return DatatypeConverter.printBase64Binary(baos.toByteArray());
-    }
-    catch (Exception e) {
-      throw new RuntimeException("Could not serialize object " + o);
+  /**
+   * Encode a value when it differs from the value decoded from the request.
+   *
+   * @param name the value name
+   * @param value the value
+   * @return the cookie value or null when the value is not modified
+   * @throws IOException any io exception
+   */
+  String encode(String name, Serializable value) throws IOException {
+    byte[] bytes = codec.serialize(value);
+    byte[] previous = decoded != null ? decoded.get(name) : null;
+    if (previous != null && Arrays.equals(previous, bytes)) {
+      return null;
     }
+    return codec.encode(name, bytes);
   }
 
   private String nameOf(Object key) {
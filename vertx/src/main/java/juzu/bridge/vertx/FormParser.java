@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.bridge.vertx;
+
+import juzu.impl.common.Lexers;
+import juzu.impl.common.Tools;
+import juzu.request.RequestParameter;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Parses an <code>application/x-www-form-urlencoded</code> body incrementally: the complete parameters of each chunk
+ * are decoded as soon as the chunk is received and only the trailing incomplete parameter is retained, so the body
+ * is never aggregated.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+class FormParser {
+
+  /** . */
+  private final HashMap<String, RequestParameter> parameters = new HashMap<String, RequestParameter>();
+
+  /** The bytes of the incomplete parameter. */
+  private byte[] pending = new byte[0];
+
+  /**
+   * Append a chunk of the body.
+   *
+   * @param data the chunk
+   */
+  void append(byte[] data) {
+    int last = -1;
+    for (int i = data.length - 1;i >= 0;i--) {
+      if (data[i] == '&') {
+        last = i;
+        break;
+      }
+    }
+    if (last == -1) {
+      pending = concat(pending, data, 0, data.length);
+    } else {
+      parse(concat(pending, data, 0, last));
+      pending = concat(new byte[0], data, last + 1, data.length - last - 1);
+    }
+  }
+
+  /**
+   * Signals the end of the body.
+   *
+   * @return the parameters
+   */
+  Map<String, RequestParameter> end() {
+    parse(pending);
+    pending = null;
+    return parameters;
+  }
+
+  private void parse(byte[] bytes) {
+    if (bytes.length > 0) {
+      String s = Tools.UTF_8.decode(ByteBuffer.wrap(bytes)).toString();
+      for (Iterator<RequestParameter> i = Lexers.queryParser(s);i.hasNext();) {
+        i.next().appendTo(parameters);
+      }
+    }
+  }
+
+  private static byte[] concat(byte[] a, byte[] b, int off, int len) {
+    byte[] c = new byte[a.length + len];
+    System.arraycopy(a, 0, c, 0, a.length);
+    System.arraycopy(b, off, c, a.length, len);
+    return c;
+  }
+}
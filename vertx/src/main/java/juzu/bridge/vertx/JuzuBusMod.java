@@ -60,6 +60,25 @@ public class JuzuBusMod extends BusModBase {
       port = 8080;
     }
 
+    // The cookie secret, a random secret is used when it is not configured
+    String cookieSecret = config.getString("cookie_secret");
+    byte[] secret;
+    if (cookieSecret != null) {
+      secret = cookieSecret.getBytes("UTF-8");
+    } else {
+      container.getLogger().warn("No cookie_secret configured, a random secret is used: the flash and session " +
+          "cookies will not be accepted after a restart or by another node");
+      secret = CookieCodec.createSecret();
+    }
+    Boolean cookieCompression = config.getBoolean("cookie_compression");
+    CookieCodec codec = new CookieCodec(secret, cookieCompression == null || cookieCompression);
+
+    // The output buffer size, zero writes each chunk to the response
+    Integer flushThreshold = config.getInteger("flush_threshold");
+    if (flushThreshold == null) {
+      flushThreshold = VertxStream.DEFAULT_FLUSH_THRESHOLD;
+    }
+
     //
     Name mainName = Name.parse(main);
     Name infoName = mainName.append("package-info");
@@ -77,7 +96,7 @@ public class JuzuBusMod extends BusModBase {
     DiskFileSystem sourcePath = new DiskFileSystem(root);
 
     //
-    application = new Application(container, vertx, loader, sourcePath, mainName, port);
+    application = new Application(container, vertx, loader, sourcePath, mainName, port, codec, flushThreshold);
     application.start();
   }
 
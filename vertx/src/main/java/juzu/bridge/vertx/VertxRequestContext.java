@@ -28,11 +28,8 @@ import juzu.impl.common.Tools;
 import juzu.impl.inject.Scoped;
 import juzu.io.Stream;
 import juzu.request.RequestParameter;
-import org.vertx.java.core.buffer.Buffer;
 import org.vertx.java.core.http.HttpServerRequest;
 
-import javax.xml.bind.DatatypeConverter;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.Serializable;
 import java.net.HttpCookie;
@@ -43,7 +40,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -67,8 +63,8 @@ public class VertxRequestContext extends WebRequestContext {
   /** . */
   private final String query;
 
-  /** . */
-  private Buffer buffer;
+  /** The parameters of the form body or null. */
+  private final Map<String, RequestParameter> form;
 
   /** . */
   final Method method;
@@ -82,7 +78,13 @@ public class VertxRequestContext extends WebRequestContext {
   /** . */
   CookieScopeContext[] cookieScopes;
 
-  public VertxRequestContext(HttpServerRequest req, Buffer buffer, Logger log) {
+  /** . */
+  final CookieCodec codec;
+
+  /** . */
+  private final int flushThreshold;
+
+  public VertxRequestContext(HttpServerRequest req, Map<String, RequestParameter> form, Logger log, CookieCodec codec, int flushThreshold) {
 
     // Compute path/query from URI - we cannot use provided request path/query as it is already decoded
     String uri = req.uri;
@@ -104,8 +106,10 @@ public class VertxRequestContext extends WebRequestContext {
     this.query = query;
     this.req = req;
     this.parameters = null;
-    this.buffer = buffer;
+    this.form = form;
     this.log = log;
+    this.codec = codec;
+    this.flushThreshold = flushThreshold;
 
     // Parse cookies
     String cookies = req.headers().get("cookie");
@@ -161,7 +165,7 @@ public class VertxRequestContext extends WebRequestContext {
 
   CookieScopeContext getCookieScopeContext(int type, boolean create) {
     if (create && cookieScopes[type] == null) {
-      cookieScopes[type] = new CookieScopeContext();
+      cookieScopes[type] = new CookieScopeContext(codec);
     }
     return cookieScopes[type];
   }
@@ -171,14 +175,16 @@ public class VertxRequestContext extends WebRequestContext {
     if (parameters == null) {
       if (query != null) {
         parameters = Lexers.parseQuery(query);
-      } else {
-        parameters = buffer != null ? new HashMap<String, RequestParameter>() : Collections.<String, RequestParameter>emptyMap();
-      }
-      if (buffer != null) {
-        for (Iterator<RequestParameter> i = Lexers.queryParser(buffer.toString());i.hasNext();) {
-          RequestParameter parameter = i.next();
-          parameter.appendTo(parameters);
+        if (form != null) {
+          if (parameters.isEmpty()) {
+            parameters = new HashMap<String, RequestParameter>();
+          }
+          for (RequestParameter parameter : form.values()) {
+            parameter.appendTo(parameters);
+          }
         }
+      } else {
+        parameters = form != null ? form : Collections.<String, RequestParameter>emptyMap();
       }
     }
     return parameters;
@@ -245,15 +251,8 @@ public class VertxRequestContext extends WebRequestContext {
           String name = entry.getKey();
           Serializable value = (Serializable)entry.getValue().get();
           try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            Tools.serialize(value, baos);
-            baos.close();
-            String encoded = DatatypeConverter.printBase64Binary(baos.toByteArray());
-            String request = scope.snapshot != null ? scope.snapshot.get(name) : null;
-            if (encoded.equals(request)) {
-              // When they are equals we don't do anything
-            } else {
-//              HttpCookie tmp = new HttpCookie(scopeName + "." + name, encoded);
+            String encoded = scope.encode(name, value);
+            if (encoded != null) {
               log.log("Sending cookie " + name + " = " + value + " as " + encoded);
               cookies.add(scopeName + "." + name + "=" + encoded + "; Path=/");
             }
@@ -297,7 +296,7 @@ public class VertxRequestContext extends WebRequestContext {
         @Override
         protected Stream getDataStream(boolean create) {
           if (stream == null && create) {
-            stream = new VertxStream(encoding, req.response);
+            stream = new VertxStream(encoding, req.response, flushThreshold);
           }
           return stream;
         }
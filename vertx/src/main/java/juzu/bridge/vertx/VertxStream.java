@@ -17,41 +17,92 @@
 package juzu.bridge.vertx;
 
 import juzu.impl.io.BinaryStream;
+import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.handler.codec.http.HttpHeaders;
 import org.vertx.java.core.buffer.Buffer;
 import org.vertx.java.core.http.HttpServerResponse;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
 
-/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+/**
+ * <p>The response stream.</p>
+ *
+ * <p>The data is aggregated in a buffer that is written to the response when its size reaches the flush threshold,
+ * the response is chunked only when the buffer is flushed before the stream is closed, otherwise the response is
+ * written at once with a content length. A zero threshold writes each chunk to the response.</p>
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
 public class VertxStream extends BinaryStream {
 
+  /** The default flush threshold: 8kb. */
+  public static final int DEFAULT_FLUSH_THRESHOLD = 8 * 1024;
+
   /** . */
   private final HttpServerResponse resp;
 
-  public VertxStream(Charset charset, HttpServerResponse resp) {
-    super(charset);
+  /** . */
+  private final int flushThreshold;
 
-    //
-    resp.setChunked(true);
+  /** The current buffer. */
+  private ChannelBuffer buffer;
+
+  /** . */
+  private boolean chunked;
+
+  public VertxStream(Charset charset, HttpServerResponse resp, int flushThreshold) {
+    super(charset);
 
     //
     this.resp = resp;
+    this.flushThreshold = flushThreshold;
   }
 
   @Override
   public void append(byte[] data, int off, int len) throws IOException {
-    resp.write(new Buffer(ChannelBuffers.wrappedBuffer(data, off, len)));
+    if (flushThreshold == 0) {
+      write(ChannelBuffers.wrappedBuffer(data, off, len));
+    } else {
+      while (len > 0) {
+        if (buffer == null) {
+          buffer = ChannelBuffers.buffer(flushThreshold);
+        }
+        int amount = Math.min(len, buffer.writableBytes());
+        buffer.writeBytes(data, off, amount);
+        off += amount;
+        len -= amount;
+        if (!buffer.writable()) {
+          write(buffer);
+          buffer = null;
+        }
+      }
+    }
   }
 
   @Override
   public void append(byte[] data) throws IOException {
-    resp.write(new Buffer(ChannelBuffers.wrappedBuffer(data)));
+    append(data, 0, data.length);
   }
 
   public void close() {
+    if (!chunked) {
+      resp.headers().put(HttpHeaders.Names.CONTENT_LENGTH, String.valueOf(buffer != null ? buffer.readableBytes() : 0));
+    }
+    if (buffer != null) {
+      resp.write(new Buffer(buffer));
+      buffer = null;
+    }
     resp.end();
     resp.close();
   }
+
+  private void write(ChannelBuffer data) {
+    if (!chunked) {
+      resp.setChunked(true);
+      chunked = true;
+    }
+    resp.write(new Buffer(data));
+  }
 }
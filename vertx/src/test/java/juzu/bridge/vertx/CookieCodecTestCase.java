@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.bridge.vertx;
+
+import junit.framework.Assert;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+public class CookieCodecTestCase {
+
+  /** . */
+  private static final byte[] SECRET = "secret".getBytes();
+
+  @Test
+  public void testBase64() {
+    for (int length = 0;length < 10;length++) {
+      byte[] data = new byte[length];
+      for (int i = 0;i < length;i++) {
+        data[i] = (byte)(i * 37 - 128);
+      }
+      String encoded = CookieCodec.toBase64(data);
+      Assert.assertTrue(encoded.matches("[A-Za-z0-9\\-_]*"));
+      Assert.assertTrue(java.util.Arrays.equals(data, CookieCodec.fromBase64(encoded)));
+    }
+    Assert.assertNull(CookieCodec.fromBase64("A"));
+    Assert.assertNull(CookieCodec.fromBase64("AB=C"));
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    for (boolean compress : new boolean[]{false, true}) {
+      CookieCodec codec = new CookieCodec(SECRET, compress);
+      HashMap<String, Integer> value = createValue();
+      String encoded = codec.encode("foo", codec.serialize(value));
+      byte[] bytes = codec.decode("foo", encoded);
+      Assert.assertNotNull(bytes);
+      Assert.assertEquals(value, codec.deserialize(getClass().getClassLoader(), bytes));
+    }
+  }
+
+  @Test
+  public void testSignature() throws Exception {
+    CookieCodec codec = new CookieCodec(SECRET, true);
+    String encoded = codec.encode("foo", codec.serialize("bar"));
+
+    // Another name
+    Assert.assertNull(codec.decode("juu", encoded));
+
+    // Another secret
+    Assert.assertNull(new CookieCodec("other".getBytes(), true).decode("foo", encoded));
+
+    // Tampered value
+    char c = encoded.charAt(2);
+    Assert.assertNull(codec.decode("foo", encoded.substring(0, 2) + (c == 'A' ? 'B' : 'A') + encoded.substring(3)));
+
+    // Truncated value
+    Assert.assertNull(codec.decode("foo", encoded.substring(0, 8)));
+  }
+
+  @Test
+  public void testCompression() throws Exception {
+    HashMap<String, Integer> value = createValue();
+    String plain = new CookieCodec(SECRET, false).encode("foo", new CookieCodec(SECRET, false).serialize(value));
+    CookieCodec codec = new CookieCodec(SECRET, true);
+    String compressed = codec.encode("foo", codec.serialize(value));
+    Assert.assertTrue(compressed.length() < plain.length());
+  }
+
+  @Test
+  public void testSize() throws Exception {
+    ArrayList<Serializable> values = new ArrayList<Serializable>();
+    values.add(3);
+    values.add("Hello world");
+    values.add(createValue());
+    for (Serializable value : values) {
+      CookieCodec plain = new CookieCodec(SECRET, false);
+      byte[] bytes = plain.serialize(value);
+
+      // A flag byte, the payload and the signature encoded in base64 without padding
+      String encoded = plain.encode("foo", bytes);
+      Assert.assertEquals((4 * (1 + bytes.length + 32) + 2) / 3, encoded.length());
+
+      // Compression is only used when it makes the value smaller
+      String compressed = new CookieCodec(SECRET, true).encode("foo", bytes);
+      Assert.assertTrue(compressed.length() <= encoded.length());
+      Assert.assertTrue(compressed.length() < 4096);
+    }
+  }
+
+  private HashMap<String, Integer> createValue() {
+    HashMap<String, Integer> value = new HashMap<String, Integer>();
+    for (int i = 0;i < 20;i++) {
+      value.put("item" + i, i);
+    }
+    return value;
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.bridge.vertx;
+
+import junit.framework.Assert;
+import juzu.request.RequestParameter;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+public class FormParserTestCase {
+
+  @Test
+  public void testChunks() throws Exception {
+    byte[] body = "foo=bar&juu=d%C3%A9j%C3%A0&foo=baz&empty=".getBytes("UTF-8");
+    for (int size = 1;size <= body.length;size++) {
+      FormParser parser = new FormParser();
+      for (int i = 0;i < body.length;i += size) {
+        byte[] chunk = new byte[Math.min(size, body.length - i)];
+        System.arraycopy(body, i, chunk, 0, chunk.length);
+        parser.append(chunk);
+      }
+      Map<String, RequestParameter> parameters = parser.end();
+      Assert.assertEquals(3, parameters.size());
+      Assert.assertEquals(Arrays.asList("bar", "baz"), parameters.get("foo"));
+      Assert.assertEquals("d\u00e9j\u00e0", parameters.get("juu").getValue());
+      Assert.assertEquals("", parameters.get("empty").getValue());
+    }
+  }
+
+  @Test
+  public void testEmpty() {
+    FormParser parser = new FormParser();
+    Assert.assertEquals(0, parser.end().size());
+  }
+}